@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.benchmark;
+
+import iton.slip.secret.util.GF256;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * GF(256) row kernels for payloads from 16 B to 1 MiB. Scores are rows per
+ * microsecond, times length that is MB/s. The vector kernel is only present
+ * on JDK 16+ with --add-modules jdk.incubator.vector (-jvmArgsAppend),
+ * otherwise mulAdd falls back to the default kernel, see the vectorized
+ * counter reported with mulAdd.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GF256Benchmark {
+
+    @Param({"16", "64", "256", "1024", "4096", "16384", "65536", "262144", "1048576"})
+    public int length;
+
+    private byte[] dst;
+    private byte[] src;
+    private int c;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        dst = new byte[length];
+        src = new byte[length];
+        random.nextBytes(dst);
+        random.nextBytes(src);
+        c = 1 + random.nextInt(255);
+    }
+
+    @Benchmark
+    public byte[] table() {
+        GF256.mulAddTable(dst, 0, src, 0, length, c);
+        return dst;
+    }
+
+    @Benchmark
+    public byte[] constantTime() {
+        GF256.mulAddConstantTime(dst, 0, src, 0, length, c);
+        return dst;
+    }
+
+    /**
+     * Reports which kernel mulAdd dispatches to, 1 for the vector kernel.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Kernel {
+
+        public long vectorized;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            vectorized = GF256.isVectorized() ? 1 : 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] mulAdd(Kernel kernel) {
+        GF256.mulAdd(dst, 0, src, 0, length, c);
+        return dst;
+    }
+}
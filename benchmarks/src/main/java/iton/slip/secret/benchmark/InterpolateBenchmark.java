@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.benchmark;
+
+import iton.slip.secret.Interpolation;
+import iton.slip.secret.ShareSet;
+import iton.slip.secret.SharedSecret;
+import iton.slip.secret.SharedSecretException;
+import iton.slip.secret.util.Utils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * interpolate by threshold and payload size. Run with -prof gc to compare
+ * the allocation of the allocating and the context variant.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InterpolateBenchmark {
+
+    @Param({"2", "5", "16"})
+    public int threshold;
+
+    @Param({"16", "32", "1024"})
+    public int length;
+
+    private final SharedSecret shared = new SharedSecret();
+    private final Interpolation context = new Interpolation();
+    private ShareSet shares;
+    private byte[] result;
+    private int x;
+
+    @Setup
+    public void setUp() throws SharedSecretException {
+        shares = new ShareSet(threshold, length);
+        byte[] value = new byte[length];
+        for (int i = 0; i < threshold; i++) {
+            Utils.randomBytes(value);
+            shares.add(i, value);
+        }
+        result = new byte[length];
+        x = threshold;
+    }
+
+    @Benchmark
+    public byte[] interpolate() throws SharedSecretException {
+        return shared.interpolate(shares, x);
+    }
+
+    @Benchmark
+    public byte[] interpolateContext() throws SharedSecretException {
+        shared.interpolate(shares, x, result, 0, context);
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.benchmark;
+
+import iton.slip.secret.Share;
+import iton.slip.secret.SharedSecretException;
+import iton.slip.secret.util.Utils;
+import iton.slip.secret.words.Mnemonic;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * Mnemonic encode and decode of 128 and 256 bit shares.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MnemonicBenchmark {
+
+    @Param({"16", "32"})
+    public int length;
+
+    private final short[] indices = new short[33];
+    private Share share;
+    private String mnemonic;
+
+    @Setup
+    public void setUp() throws SharedSecretException {
+        byte[] value = new byte[length];
+        Utils.randomBytes(value);
+        share = new Share((short) 1234, (byte) 0, (byte) 1, (byte) 2, (byte) 3, (byte) 4, (byte) 5, value);
+        mnemonic = Mnemonic.INSTANCE.encode(share);
+    }
+
+    @Benchmark
+    public String encode() {
+        return Mnemonic.INSTANCE.encode(share);
+    }
+
+    @Benchmark
+    public Share decode() throws SharedSecretException {
+        return Mnemonic.INSTANCE.decode(mnemonic);
+    }
+
+    @Benchmark
+    public int tokenize() throws SharedSecretException {
+        return Mnemonic.INSTANCE.tokenize(mnemonic, indices);
+    }
+}
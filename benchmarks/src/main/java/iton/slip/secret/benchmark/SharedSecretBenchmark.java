@@ -0,0 +1,110 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.benchmark;
+
+import iton.slip.secret.Group;
+import iton.slip.secret.SharedSecret;
+import iton.slip.secret.SharedSecretException;
+import iton.slip.secret.util.Utils;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * generate and combine across group layouts and iteration exponents. A
+ * layout lists member_threshold/member_count per group separated by ';', all
+ * groups are required.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SharedSecretBenchmark {
+
+    @Param({"1/1", "2/3", "3/5", "2/3;3/5", "2/3;2/3;3/5"})
+    public String layout;
+
+    @Param({"0", "1"})
+    public byte iteration_exponent;
+
+    @Param({"16", "32"})
+    public int length;
+
+    private final SharedSecret shared = new SharedSecret();
+    private final String passphrase = "TREZOR";
+    private byte[] master;
+    private List<Group> groups;
+    private String[] mnemonics;
+
+    @Setup
+    public void setUp() throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        master = new byte[length];
+        Utils.randomBytes(master);
+
+        groups = new ArrayList<>();
+        for (String group : layout.split(";")) {
+            String[] parts = group.split("/");
+            groups.add(new Group(Integer.parseInt(parts[0]), Integer.parseInt(parts[1])));
+        }
+
+        // the member_threshold first shares of each group
+        List<String> shares = shared.generate(master, passphrase, (byte) groups.size(), groups, iteration_exponent);
+        List<String> selected = new ArrayList<>();
+        int start = 0;
+        for (Group group : groups) {
+            selected.addAll(shares.subList(start, start + group.member_threshold));
+            start += group.member_count;
+        }
+        mnemonics = selected.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public List<String> generate() throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        return shared.generate(master, passphrase, (byte) groups.size(), groups, iteration_exponent);
+    }
+
+    @Benchmark
+    public byte[] combine() throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        return shared.combine(mnemonics, passphrase);
+    }
+}
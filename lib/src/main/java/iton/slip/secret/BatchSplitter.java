@@ -0,0 +1,208 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret;
+
+import iton.slip.secret.metrics.Metrics;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * Splits many master secrets with the same passphrase and group layout. The
+ * layout is validated once, and the secrets are encrypted and split in
+ * parallel on a fork-join pool.
+ */
+public class BatchSplitter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchSplitter.class);
+
+    private final SharedSecret shared = new SharedSecret();
+    private final String passphrase;
+    private final byte groups_threshold;
+    private final List<Group> groups;
+    private final byte iteration_exponent;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param passphrase: The passphrase used to encrypt the master secrets.
+     * @param groups_threshold: The number of groups required to reconstruct a
+     * master secret.
+     * @param groups: The member threshold and member count of each group.
+     * @param iteration_exponent: The encryption iteration exponent.
+     * @throws SharedSecretException
+     */
+    public BatchSplitter(String passphrase,
+            byte groups_threshold,
+            List<Group> groups,
+            byte iteration_exponent) throws SharedSecretException {
+        this(passphrase, groups_threshold, groups, iteration_exponent, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param passphrase: The passphrase used to encrypt the master secrets.
+     * @param groups_threshold: The number of groups required to reconstruct a
+     * master secret.
+     * @param groups: The member threshold and member count of each group.
+     * @param iteration_exponent: The encryption iteration exponent.
+     * @param pool: The pool running the splits.
+     * @throws SharedSecretException
+     */
+    public BatchSplitter(String passphrase,
+            byte groups_threshold,
+            List<Group> groups,
+            byte iteration_exponent,
+            ForkJoinPool pool) throws SharedSecretException {
+
+        SharedSecret.validate(passphrase, groups_threshold, groups);
+        List<Group> layout = new ArrayList<>();
+        for (Group group : groups) {
+            layout.add(new Group(group.member_threshold, group.member_count));
+        }
+        this.passphrase = passphrase;
+        this.groups_threshold = groups_threshold;
+        this.groups = Collections.unmodifiableList(layout);
+        this.iteration_exponent = iteration_exponent;
+        this.pool = pool;
+    }
+
+    /**
+     * Splits each master secret into mnemonic shares.
+     *
+     * @param secrets: The master secrets.
+     * @return The mnemonics of each secret, in input order.
+     * @throws SharedSecretException
+     * @throws NoSuchAlgorithmException
+     * @throws InvalidKeyException
+     */
+    public Result split(byte[][] secrets) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        return split(Arrays.stream(secrets));
+    }
+
+    /**
+     * Splits each master secret into mnemonic shares.
+     *
+     * @param secrets: The master secrets.
+     * @return The mnemonics of each secret, in encounter order.
+     * @throws SharedSecretException
+     * @throws NoSuchAlgorithmException
+     * @throws InvalidKeyException
+     */
+    public Result split(Stream<byte[]> secrets) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        long start = System.nanoTime();
+        List<List<String>> mnemonics;
+        try {
+            // parallel stream operations run in the pool that submits them
+            mnemonics = pool.submit(() -> secrets.parallel()
+                    .map(this::split)
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SharedSecretException("Batch split interrupted");
+        } catch (ExecutionException e) {
+            // fork-join may rewrap the exception when it crosses threads
+            Throwable cause = e.getCause();
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof SharedSecretException) {
+                throw (SharedSecretException) cause;
+            }
+            if (cause instanceof NoSuchAlgorithmException) {
+                throw (NoSuchAlgorithmException) cause;
+            }
+            if (cause instanceof InvalidKeyException) {
+                throw (InvalidKeyException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        Result result = new Result(mnemonics, System.nanoTime() - start);
+        LOG.debug("Split {} secrets in {} ms, {} secrets/s", result.count(), result.elapsed() / 1000000, result.throughput());
+        return result;
+    }
+
+    private List<String> split(byte[] secret) {
+        try {
+            SharedSecret.validate(secret);
+            long start = Metrics.start();
+            List<String> mnemonics = shared.share(secret, passphrase, groups_threshold, groups, iteration_exponent);
+            Metrics.stop(Metrics.GENERATE, start);
+            return mnemonics;
+        } catch (SharedSecretException | NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * The mnemonics of a batch and its throughput.
+     */
+    public static class Result {
+
+        private final List<List<String>> mnemonics;
+        private final long elapsed;
+
+        Result(List<List<String>> mnemonics, long elapsed) {
+            this.mnemonics = mnemonics;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * @return The mnemonics of each secret, in input order.
+         */
+        public List<List<String>> mnemonics() {
+            return mnemonics;
+        }
+
+        public int count() {
+            return mnemonics.size();
+        }
+
+        /**
+         * @return Wall clock time of the batch in nanoseconds.
+         */
+        public long elapsed() {
+            return elapsed;
+        }
+
+        /**
+         * @return Secrets split per second.
+         */
+        public double throughput() {
+            return elapsed == 0 ? 0 : count() * 1e9 / elapsed;
+        }
+    }
+}
@@ -23,8 +23,7 @@
  */
 package iton.slip.secret;
 
-import java.util.HashMap;
-import java.util.Map;
+import static iton.slip.secret.Common.MAX_SHARE_COUNT;
 
 /**
  *
@@ -34,7 +33,7 @@ public class Group {
 
     public int member_threshold;
     public int member_count;
-    public Map<Integer, byte[]> shares = new HashMap<>();
+    private ShareSet shares;
     
      public Group(){
          
@@ -44,4 +43,23 @@ public class Group {
         this.member_threshold = member_threshold;
         this.member_count = member_count;
     }
+    
+    /**
+     * @return The member shares collected for the group. The set is only
+     * allocated on first use, layout only groups passed to generate never
+     * hold one.
+     */
+    public ShareSet shares() {
+        if (shares == null) {
+            shares = new ShareSet(MAX_SHARE_COUNT);
+        }
+        return shares;
+    }
+    
+    // zeroes the member share values without allocating a set for them
+    void wipe() {
+        if (shares != null) {
+            shares.wipe();
+        }
+    }
 }
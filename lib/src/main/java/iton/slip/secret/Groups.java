@@ -24,8 +24,7 @@
 
 package iton.slip.secret;
 
-import java.util.HashMap;
-import java.util.Map;
+import static iton.slip.secret.Common.MAX_SHARE_COUNT;
 
 /**
  *
@@ -36,5 +35,26 @@ public class Groups {
     int iteration_exponent;
     int group_threshold;
     int group_count;
-    Map<Integer, Group> groups = new HashMap<>();
+    Group[] groups = new Group[MAX_SHARE_COUNT]; // indexed by group index
+    int count; // number of groups present
+
+    // number of groups holding at least member_threshold shares
+    int complete() {
+        int complete = 0;
+        for (Group group : groups) {
+            if (group != null && group.shares().size() >= group.member_threshold) {
+                complete++;
+            }
+        }
+        return complete;
+    }
+
+    // zeroes the share values of all groups
+    void wipe() {
+        for (Group group : groups) {
+            if (group != null) {
+                group.wipe();
+            }
+        }
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret;
+
+import static iton.slip.secret.Common.MAX_SHARE_COUNT;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * Reusable scratch space for SharedSecret.interpolate. It holds the Lagrange
+ * coefficients of the last x coordinate set and target, so repeated calls on
+ * the same set neither allocate nor recompute the basis. A context must not be
+ * shared between threads.
+ */
+public class Interpolation {
+
+    final byte[] basis;
+    final long[] mask = new long[4];
+    final long[] probe = new long[4];
+    int target = -1;
+
+    public Interpolation() {
+        this(MAX_SHARE_COUNT);
+    }
+
+    /**
+     * @param capacity The maximum number of shares interpolated with this
+     * context.
+     */
+    public Interpolation(int capacity) {
+        basis = new byte[capacity];
+    }
+
+    /**
+     * Returns the basis coefficients of the share set at x, computing them
+     * only when the set or the target changed since the previous call.
+     */
+    byte[] coefficients(ShareSet shares, int x) throws SharedSecretException {
+        if (shares.size() > basis.length) {
+            throw new SharedSecretException(String.format("Too many shares (%d) for the interpolation context", shares.size()));
+        }
+        Lagrange.mask(shares, probe);
+        if (x != target
+                || probe[0] != mask[0]
+                || probe[1] != mask[1]
+                || probe[2] != mask[2]
+                || probe[3] != mask[3]) {
+            Lagrange.compute(shares, x, basis);
+            System.arraycopy(probe, 0, mask, 0, mask.length);
+            target = x;
+        }
+        return basis;
+    }
+}
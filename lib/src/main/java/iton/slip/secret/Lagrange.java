@@ -0,0 +1,167 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import iton.slip.secret.util.GF256;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * Lagrange basis coefficients for a set of x coordinates evaluated at a target
+ * x. Recovery keeps meeting the same member index sets, so the coefficient
+ * vectors are kept in a bounded cache keyed by the x coordinate set and the
+ * target.
+ */
+public class Lagrange {
+
+    public static final int CACHE_SIZE = 1024;
+
+    private static final Cache<Key, byte[]> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .build();
+
+    private Lagrange() {
+    }
+
+    /**
+     * Returns the Lagrange basis polynomials of the share set evaluated at x,
+     * one coefficient per share in the order of the set. The returned array is
+     * shared through the cache between threads and must not be modified, so
+     * only the interpolation hot path gets it. Others use compute.
+     *
+     * @param shares The Shamir shares.
+     * @param x The x coordinate to evaluate the basis polynomials at.
+     * @return The coefficients l_i(x).
+     * @throws SharedSecretException if x is not in 0..255.
+     */
+    static byte[] coefficients(ShareSet shares, int x) throws SharedSecretException {
+        Key key = new Key(shares, x);
+        byte[] coefficients = CACHE.getIfPresent(key);
+        if (coefficients == null) {
+            coefficients = compute(shares, x);
+            CACHE.put(key, coefficients);
+        }
+        return coefficients;
+    }
+
+    /**
+     * Computes the Lagrange basis polynomials of the share set evaluated at x
+     * without going through the cache.
+     *
+     * @param shares The Shamir shares.
+     * @param x The x coordinate to evaluate the basis polynomials at.
+     * @return The coefficients l_i(x).
+     * @throws SharedSecretException if x is not in 0..255.
+     */
+    public static byte[] compute(ShareSet shares, int x) throws SharedSecretException {
+        byte[] coefficients = new byte[shares.size()];
+        compute(shares, x, coefficients);
+        return coefficients;
+    }
+
+    /**
+     * Computes the Lagrange basis polynomials of the share set evaluated at x
+     * into a caller provided array.
+     *
+     * @param shares The Shamir shares.
+     * @param x The x coordinate to evaluate the basis polynomials at.
+     * @param coefficients Receives the coefficients l_i(x), at least the size
+     * of the share set.
+     * @throws SharedSecretException if x is not in 0..255.
+     */
+    public static void compute(ShareSet shares, int x, byte[] coefficients) throws SharedSecretException {
+        // GF(256) elements only, a larger x would be masked into another target
+        if (x < 0 || x > 255) {
+            throw new SharedSecretException(String.format("Invalid share index %d", x));
+        }
+        int count = shares.size();
+        for (int i = 0; i < count; i++) {
+            // l_i(x) = prod (x - x_k) / (x_i - x_k) for k != i
+            int numerator = 1;
+            int denominator = 1;
+            for (int k = 0; k < count; k++) {
+                if (k != i) {
+                    numerator = GF256.mul(numerator, x ^ shares.x(k));
+                    denominator = GF256.mul(denominator, shares.x(i) ^ shares.x(k));
+                }
+            }
+            coefficients[i] = (byte) GF256.div(numerator, denominator);
+        }
+    }
+
+    /**
+     * Fills a 256 bit mask with the x coordinates of the share set.
+     *
+     * @param shares The Shamir shares.
+     * @param mask Four words receiving the mask.
+     */
+    static void mask(ShareSet shares, long[] mask) {
+        mask[0] = mask[1] = mask[2] = mask[3] = 0;
+        for (int i = 0; i < shares.size(); i++) {
+            mask[shares.x(i) >>> 6] |= 1L << shares.x(i);
+        }
+    }
+
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+    // The x coordinate set as a 256 bit mask plus the target
+    private static final class Key {
+
+        private final long[] mask = new long[4];
+        private final int x;
+
+        Key(ShareSet shares, int x) {
+            mask(shares, mask);
+            this.x = x;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) object;
+            return x == key.x
+                    && mask[0] == key.mask[0]
+                    && mask[1] == key.mask[1]
+                    && mask[2] == key.mask[2]
+                    && mask[3] == key.mask[3];
+        }
+
+        @Override
+        public int hashCode() {
+            long hash = x;
+            for (long word : mask) {
+                hash = 31 * hash + word;
+            }
+            return (int) (hash ^ (hash >>> 32));
+        }
+    }
+}
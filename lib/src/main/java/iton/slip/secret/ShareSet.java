@@ -0,0 +1,207 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret;
+
+import java.util.Arrays;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * A fixed capacity set of Shamir shares (x_i, y_i). The x coordinates are kept
+ * in ascending order in a parallel int array and all y values, which must have
+ * the same length, are stored as consecutive rows of a single byte arena.
+ */
+public class ShareSet {
+
+    private final int[] xs;
+    private byte[] arena;
+    private int length = -1;
+    private int size;
+
+    public ShareSet(int capacity) {
+        xs = new int[capacity];
+    }
+
+    public ShareSet(int capacity, int length) {
+        this(capacity);
+        setLength(length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return xs.length;
+    }
+
+    /**
+     * @return The length of each share value in bytes, -1 while the set is
+     * empty and no length has been given.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @param index Position of the share in the set.
+     * @return The x coordinate of the share.
+     */
+    public int x(int index) {
+        return xs[index];
+    }
+
+    /**
+     * @param x The x coordinate to look for.
+     * @return Position of the share with the x coordinate or -1.
+     */
+    public int indexOf(int x) {
+        for (int i = 0; i < size; i++) {
+            if (xs[i] == x) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(int x) {
+        return indexOf(x) >= 0;
+    }
+
+    /**
+     * @return The backing array holding the share values row by row.
+     */
+    public byte[] arena() {
+        return arena;
+    }
+
+    /**
+     * @param index Position of the share in the set.
+     * @return Offset of the share value in the arena.
+     */
+    public int offset(int index) {
+        return index * length;
+    }
+
+    /**
+     * @param index Position of the share in the set.
+     * @return A copy of the share value.
+     */
+    public byte[] value(int index) {
+        return Arrays.copyOfRange(arena, offset(index), offset(index) + length);
+    }
+
+    /**
+     * Adds a share to the set.
+     *
+     * @param x The x coordinate of the share.
+     * @param value The share value, copied into the arena.
+     * @return Position of the share in the set.
+     * @throws SharedSecretException
+     */
+    public int add(int x, byte[] value) throws SharedSecretException {
+        return add(x, value, 0, value.length);
+    }
+
+    /**
+     * Adds a share to the set.
+     *
+     * @param x The x coordinate of the share.
+     * @param src Array holding the share value.
+     * @param offset Offset of the share value in src.
+     * @param count Length of the share value.
+     * @return Position of the share in the set.
+     * @throws SharedSecretException
+     */
+    public int add(int x, byte[] src, int offset, int count) throws SharedSecretException {
+        if (length < 0) {
+            setLength(count);
+        }
+        if (count != length || count == 0) {
+            throw new SharedSecretException("Invalid set of shares. All share values must have the same length and not de void");
+        }
+        int index = insert(x);
+        System.arraycopy(src, offset, arena, offset(index), length);
+        return index;
+    }
+
+    /**
+     * Adds a share with a zero value to the set, to be filled in place through
+     * the arena.
+     *
+     * @param x The x coordinate of the share.
+     * @return Position of the share in the set.
+     * @throws SharedSecretException
+     */
+    public int add(int x) throws SharedSecretException {
+        if (length <= 0) {
+            throw new SharedSecretException("Invalid set of shares. All share values must have the same length and not de void");
+        }
+        int index = insert(x);
+        Arrays.fill(arena, offset(index), offset(index) + length, (byte) 0);
+        return index;
+    }
+
+    /**
+     * Zeroes the share values. The shares stay in the set.
+     */
+    public void wipe() {
+        if (arena != null) {
+            Arrays.fill(arena, (byte) 0);
+        }
+    }
+
+    private void setLength(int length) {
+        this.length = length;
+        this.arena = new byte[xs.length * length];
+    }
+
+    private int insert(int x) throws SharedSecretException {
+        if (x < 0 || x > 255) {
+            throw new SharedSecretException(String.format("Invalid share index %d", x));
+        }
+        if (size == xs.length) {
+            throw new SharedSecretException(String.format("Too many shares (%d)", size + 1));
+        }
+        int index = size;
+        while (index > 0 && xs[index - 1] > x) {
+            index--;
+        }
+        if (index > 0 && xs[index - 1] == x) {
+            throw new SharedSecretException(String.format("Duplicate share index %d", x));
+        }
+        // shift the following rows up to keep the x coordinates sorted
+        System.arraycopy(xs, index, xs, index + 1, size - index);
+        System.arraycopy(arena, offset(index), arena, offset(index + 1), (size - index) * length);
+        xs[index] = x;
+        size++;
+        return index;
+    }
+}
@@ -0,0 +1,882 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import static iton.slip.secret.Common.DIGEST_INDEX;
+import static iton.slip.secret.Common.DIGEST_LENGTH_BYTES;
+import static iton.slip.secret.Common.MAX_SHARE_COUNT;
+import static iton.slip.secret.Common.MIN_STRENGTH_BITS;
+import static iton.slip.secret.Common.MNEMONIC_WORDS_MAX;
+import static iton.slip.secret.Common.MNEMONIC_WORDS_MIN;
+import static iton.slip.secret.Common.SECRET_INDEX;
+import iton.slip.secret.util.GF256;
+import iton.slip.secret.util.SecretBuffer;
+import iton.slip.secret.util.Trace;
+import iton.slip.secret.util.Utils;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import iton.slip.secret.metrics.Metrics;
+import iton.slip.secret.util.Crypto;
+import iton.slip.secret.words.Mnemonic;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class SharedSecret {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedSecret.class);
+    
+    // The secret and the digest are evaluated together on recovery
+    private static final int[] RECOVER_INDEX = new int[]{SECRET_INDEX, DIGEST_INDEX};
+
+    public SharedSecret() {
+    }
+
+    // Default executor of the asynchronous API, one daemon thread per core so
+    // a burst of requests queues up instead of oversubscribing the CPUs. The
+    // queue is bounded since every queued task holds secret material, once it
+    // is full further requests are rejected rather than run on the caller
+    private static final class DefaultExecutor {
+
+        private static final int THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+        private static final int QUEUE_CAPACITY = 4 * THREAD_COUNT;
+
+        private static final ExecutorService INSTANCE = new ThreadPoolExecutor(
+                THREAD_COUNT, THREAD_COUNT,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                new ThreadFactoryBuilder().setNameFormat("shared-secret-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Split an Encrypted Master Secret into mnemonic shares. This function is a
+     * counterpart to `recover`, and it is used as a subroutine in `generate`.
+     * The input is an *already encrypted* Master Secret (EMS), so it is
+     * possible to encrypt the Master Secret in advance and perform the
+     * splitting later. Decryption of the MS depends on the identifier and
+     * iteration exponent, so the same values used for `Crypto.encrypt` must
+     * also be used here. Otherwise it will be impossible to recover the
+     * original MS from the generated shares.
+     *
+     * @param threshold The number of groups required to reconstruct the master
+     * secret.
+     * @param shared_secret The encrypted master secret to split.
+     * @param share_count
+     * @return List of shares
+     * @throws SharedSecretException
+     * @throws NoSuchAlgorithmException
+     * @throws InvalidKeyException
+     */
+    private ShareSet split(
+            int threshold,
+            byte[] shared_secret,
+            int share_count) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+
+        if (threshold < 1) {
+            throw new SharedSecretException("Sharing threshold must be >= 1");
+        }
+
+        if (share_count > Common.MAX_SHARE_COUNT) {
+            throw new SharedSecretException(String.format("Too many shares (%d)", share_count));
+        }
+
+        if (threshold > share_count) {
+            throw new SharedSecretException("Number of shares should be at least equal threshold");
+        }
+
+        ShareSet shares = new ShareSet(share_count, shared_secret.length);
+        // If the group_threshold is 1, then the digest of the shared secret is not used
+        if (threshold == 1) {
+            for (int i = 0; i < share_count; i++) {
+                shares.add(i, shared_secret);
+            }
+            return shares;
+        }
+
+        if (share_count == 1) {
+            shares.add(0, shared_secret);
+            return shares;
+        }
+
+        ShareSet base = new ShareSet(threshold, shared_secret.length);
+        byte[] share = new byte[shared_secret.length];
+        byte[] random_part = new byte[shared_secret.length - DIGEST_LENGTH_BYTES];
+        byte[] mac = null;
+        try {
+            for (int i = 0; i < threshold - 2; i++) {
+                Utils.randomBytes(share);
+                base.add(i, share);
+                shares.add(i, share);
+            }
+
+            Utils.randomBytes(random_part);
+            mac = Crypto.digest(random_part, shared_secret);
+
+            int index = base.add(DIGEST_INDEX);
+            System.arraycopy(mac, 0, base.arena(), base.offset(index), DIGEST_LENGTH_BYTES);
+            System.arraycopy(random_part, 0, base.arena(), base.offset(index) + DIGEST_LENGTH_BYTES, random_part.length);
+            base.add(SECRET_INDEX, shared_secret);
+
+            // Evaluate all remaining shares in one pass, straight into their rows
+            int[] x = new int[share_count - threshold + 2];
+            byte[][] results = new byte[x.length][];
+            int[] offsets = new int[x.length];
+            for (int j = 0; j < x.length; j++) {
+                x[j] = threshold - 2 + j;
+                offsets[j] = shares.offset(shares.add(x[j]));
+                results[j] = shares.arena();
+            }
+            interpolate(base, x, results, offsets);
+        } catch (Exception e) {
+            shares.wipe();
+            throw e;
+        } finally {
+            SecretBuffer.wipe(share, random_part, mac);
+            base.wipe();
+        }
+        return shares;
+    }
+
+    /**
+     * Returns f(x) given the Shamir shares (x_1, f(x_1)), ... , (x_k, f(x_k)).
+     *
+     * @param shares: The Shamir shares. type ShareSet: A set of pairs (x_i,
+     * y_i), where x_i is an integer and y_i is an array of bytes representing
+     * the evaluations of the polynomials in x_i.
+     * @param x: The x coordinate of the result.
+     * @return Evaluations of the polynomials in x. type: bytes[].
+     */
+    public byte[] interpolate(ShareSet shares, int x) throws SharedSecretException {
+        if (shares.isEmpty()) {
+            throw new SharedSecretException("Invalid set of shares. All share values must have the same length and not de void");
+        }
+        byte[] share = new byte[shares.length()];
+        interpolate(shares, new int[]{x}, new byte[][]{share});
+        return share;
+    }
+
+    /**
+     * Returns f(x) given the Shamir shares, without allocating. The basis
+     * coefficients are kept in the caller supplied context and the result is
+     * written into the caller supplied buffer.
+     *
+     * @param shares: The Shamir shares.
+     * @param x: The x coordinate of the result.
+     * @param result: Receives the evaluations of the polynomials in x.
+     * @param offset: Offset of the result in its buffer.
+     * @param context: Scratch space reused between calls.
+     * @throws SharedSecretException
+     */
+    public void interpolate(ShareSet shares, int x, byte[] result, int offset, Interpolation context) throws SharedSecretException {
+
+        if (shares.isEmpty()) {
+            throw new SharedSecretException("Invalid set of shares. All share values must have the same length and not de void");
+        }
+        int length = shares.length();
+        if (result.length - offset < length) {
+            throw new SharedSecretException(String.format("Result buffer too short (%d), share length is %d", result.length - offset, length));
+        }
+        byte[] arena = shares.arena();
+        long start = Metrics.start();
+        
+        int index = shares.indexOf(x);
+        if (index >= 0) {
+            System.arraycopy(arena, shares.offset(index), result, offset, length);
+        } else {
+            byte[] basis = context.coefficients(shares, x);
+            Arrays.fill(result, offset, offset + length, (byte) 0);
+            for (int i = 0; i < shares.size(); i++) {
+                GF256.mulAdd(result, offset, arena, shares.offset(i), length, basis[i]);
+            }
+        }
+        Metrics.stop(Metrics.INTERPOLATE, start);
+    }
+
+    /**
+     * Evaluates the polynomials at several x coordinates in a single pass over
+     * the share values.
+     *
+     * @param shares: The Shamir shares.
+     * @param x: The x coordinates of the results.
+     * @param results: Caller provided buffers, results[j] receives the
+     * evaluations of the polynomials in x[j]. Each buffer must hold at least
+     * the share value length.
+     * @throws SharedSecretException
+     */
+    private void interpolate(ShareSet shares, int[] x, byte[][] results) throws SharedSecretException {
+        interpolate(shares, x, results, new int[x.length]);
+    }
+
+    /**
+     * Evaluates the polynomials at several x coordinates in a single pass over
+     * the share values. The Lagrange basis matrix, one row of coefficients per
+     * x, is taken once from the cache and applied to every share row.
+     *
+     * @param shares: The Shamir shares.
+     * @param x: The x coordinates of the results.
+     * @param results: Caller provided buffers, results[j] receives the
+     * evaluations of the polynomials in x[j] starting at offsets[j].
+     * @param offsets: Offsets of the results in their buffers.
+     * @throws SharedSecretException
+     */
+    private void interpolate(ShareSet shares, int[] x, byte[][] results, int[] offsets) throws SharedSecretException {
+
+        if (shares.isEmpty()) {
+            throw new SharedSecretException("Invalid set of shares. All share values must have the same length and not de void");
+        }
+        int count = shares.size();
+        int length = shares.length();
+        byte[] arena = shares.arena();
+        long start = Metrics.start();
+        if (Trace.ENABLED) {
+            Trace.event("interpolate: {} shares of {} bytes at {} points", count, length, x.length);
+        }
+        
+        // The Lagrange basis polynomials evaluated at each x, null where x is a share
+        byte[][] basis = new byte[x.length][];
+        for (int j = 0; j < x.length; j++) {
+            if (results[j].length - offsets[j] < length) {
+                throw new SharedSecretException(String.format("Result buffer too short (%d), share length is %d", results[j].length - offsets[j], length));
+            }
+            int index = shares.indexOf(x[j]);
+            if (index >= 0) {
+                System.arraycopy(arena, shares.offset(index), results[j], offsets[j], length);
+            } else {
+                basis[j] = Lagrange.coefficients(shares, x[j]);
+                Arrays.fill(results[j], offsets[j], offsets[j] + length, (byte) 0);
+            }
+        }
+        
+        for (int i = 0; i < count; i++) {
+            int offset = shares.offset(i);
+            for (int j = 0; j < x.length; j++) {
+                if (basis[j] != null) {
+                    GF256.mulAdd(results[j], offsets[j], arena, offset, length, basis[j][i]);
+                }
+            }
+        }
+        Metrics.stop(Metrics.INTERPOLATE, start);
+    }
+
+    /**
+     * Split a master secret into mnemonic shares using Shamir's secret sharing
+     * scheme. The supplied Master Secret is encrypted by the passphrase (empty
+     * passphrase is used if none is provided) and split into a set of mnemonic
+     * shares. This is the user-friendly method to back up a pre-existing secret
+     * with the Shamir scheme, optionally protected by a passphrase.
+     *
+     * @param groups_threshold: The number of groups required to reconstruct the
+     * master secret.
+     * @param groups: A list of (group group_threshold, group group_count) pairs for each
+     * group, where member_count is the number of shares to generate for the
+     * group and member_threshold is the number of members required to
+     * reconstruct the group secret.
+     * @param master_secret: The master secret to split.
+     * @param passphrase: The passphrase used to encrypt the master secret.
+     * @param iteration_exponent: The encryption iteration exponent.
+     * @return List of groups mnemonics.
+     * @throws iton.slip.secret.SharedSecretException
+     * @throws java.security.NoSuchAlgorithmException
+     * @throws java.security.InvalidKeyException
+     */
+    public List<String> generate(
+            byte[] master_secret,
+            String passphrase,
+            byte groups_threshold,
+            List<Group> groups,
+            byte iteration_exponent) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+
+        validate(master_secret);
+        validate(passphrase, groups_threshold, groups);
+        long start = Metrics.start();
+        List<String> mnemonics = share(master_secret, passphrase, groups_threshold, groups, iteration_exponent);
+        Metrics.stop(Metrics.GENERATE, start);
+        return mnemonics;
+    }
+
+    static void validate(byte[] master_secret) throws SharedSecretException {
+        validate(master_secret.length);
+    }
+
+    static void validate(int length) throws SharedSecretException {
+        if (length * Byte.SIZE < MIN_STRENGTH_BITS || length % 2 != 0) {
+            throw new SharedSecretException("Master key entropy must be at least 128 bits and multiple of 16 bits");
+        }
+    }
+
+    static void validate(String passphrase, byte groups_threshold, List<Group> groups) throws SharedSecretException {
+        if (!CharMatcher.ascii().matchesAllOf(passphrase)) {
+            throw new SharedSecretException("Incorrect passphrase chars. The passphrase must contain only printable ASCII characters (code points 32-126).");
+        }
+        if (groups_threshold > MAX_SHARE_COUNT) {
+            throw new SharedSecretException("More than 16 groups are not supported");
+        }
+        if (groups_threshold > groups.size()) {
+            throw new SharedSecretException(String.format("Incorrect group threshold (%d), group count (%d)", groups_threshold, groups.size()));
+        }
+        for (Group group : groups) {
+            if (group.member_threshold == 1 && group.member_count > 1) {
+                throw new SharedSecretException("Can only generate one share for member_threshold = 1");
+            }
+        }
+        for (Group group : groups) {
+            if (group.member_threshold > group.member_count) {
+                throw new SharedSecretException("Number of shares must not be less than member_threshold");
+            }
+        }
+    }
+
+    // generate without validation of the arguments
+    List<String> share(
+            byte[] master_secret,
+            String passphrase,
+            byte groups_threshold,
+            List<Group> groups,
+            byte iteration_exponent) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+
+        return share(Utils.randomBytes(), master_secret, passphrase, groups_threshold, groups, iteration_exponent);
+    }
+
+    // generate with a given identifier
+    List<String> share(
+            short id,
+            byte[] master_secret,
+            String passphrase,
+            byte groups_threshold,
+            List<Group> groups,
+            byte iteration_exponent) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+
+        byte[] encrypted_master = Crypto.encrypt(id, iteration_exponent, master_secret, passphrase);
+        return mnemonics(id, encrypted_master, groups_threshold, groups, iteration_exponent);
+    }
+
+    // splits the encrypted master secret, which is wiped once split
+    private List<String> mnemonics(
+            short id,
+            byte[] encrypted_master,
+            byte groups_threshold,
+            List<Group> groups,
+            byte iteration_exponent) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+
+        List<String> mnemonics = new ArrayList<>();
+        
+        // Get group shares
+        ShareSet group_shares;
+        try {
+            group_shares = split(groups_threshold, encrypted_master, groups.size());
+        } finally {
+            SecretBuffer.wipe(encrypted_master);
+        }
+        // Get all mnemonics
+        try {
+            for (int i = 0; i < group_shares.size(); i++) {
+                int group_index = group_shares.x(i);
+                Group group = groups.get(group_index);
+                byte[] group_share = group_shares.value(i);
+                ShareSet member_shares;
+                try {
+                    member_shares = split(group.member_threshold, group_share, group.member_count);
+                } finally {
+                    SecretBuffer.wipe(group_share);
+                }
+                try {
+                    for (int k = 0; k < member_shares.size(); k++) {
+                        mnemonics.add(Mnemonic.INSTANCE.encode(id,
+                                iteration_exponent,
+                                group_index,
+                                groups_threshold,
+                                groups.size(),
+                                member_shares.x(k),
+                                group.member_threshold,
+                                member_shares.arena(),
+                                member_shares.offset(k),
+                                member_shares.length()));
+                    }
+                } finally {
+                    member_shares.wipe();
+                }
+            }
+        } finally {
+            group_shares.wipe();
+        }
+        return mnemonics;
+    }
+
+    /**
+     * Split a master secret held off the heap into mnemonic shares, see
+     * generate. The master secret is encrypted in place on a direct copy, only
+     * the encrypted master secret is copied to the heap for the split and it
+     * is wiped before returning.
+     *
+     * @param master_secret: The master secret to split.
+     * @param passphrase: The passphrase used to encrypt the master secret.
+     * @param groups_threshold: The number of groups required to reconstruct the
+     * master secret.
+     * @param groups: The member threshold and member count of each group.
+     * @param iteration_exponent: The encryption iteration exponent.
+     * @return List of groups mnemonics.
+     * @throws SharedSecretException
+     * @throws NoSuchAlgorithmException
+     * @throws InvalidKeyException
+     */
+    public List<String> generate(
+            SecretBuffer master_secret,
+            String passphrase,
+            byte groups_threshold,
+            List<Group> groups,
+            byte iteration_exponent) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+
+        validate(master_secret.length());
+        validate(passphrase, groups_threshold, groups);
+        long start = Metrics.start();
+        short id = Utils.randomBytes();
+        List<String> mnemonics;
+        try (SecretBuffer encrypted_master = Crypto.encrypt(id, iteration_exponent, master_secret, passphrase)) {
+            mnemonics = mnemonics(id, encrypted_master.toByteArray(), groups_threshold, groups, iteration_exponent);
+        }
+        Metrics.stop(Metrics.GENERATE, start);
+        return mnemonics;
+    }
+
+    public List<String> generate(
+            byte[] master_secret,
+            byte groups_threshold,
+            List<Group> groups) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+
+        return generate(master_secret, "", groups_threshold, groups, (byte) 1);
+    }
+
+    /**
+     * Asynchronous variant of generate running the key derivation on the
+     * executor.
+     *
+     * @param master_secret: The master secret to split.
+     * @param passphrase: The passphrase used to encrypt the master secret.
+     * @param groups_threshold: The number of groups required to reconstruct the
+     * master secret.
+     * @param groups: The member threshold and member count of each group.
+     * @param iteration_exponent: The encryption iteration exponent.
+     * @param executor: Executor running the generation.
+     * @return Future of the list of groups mnemonics. It completes
+     * exceptionally with the SharedSecretException or crypto exception
+     * generate would have thrown, or with a RejectedExecutionException if the
+     * executor does not accept the task.
+     */
+    public CompletableFuture<List<String>> generateAsync(
+            byte[] master_secret,
+            String passphrase,
+            byte groups_threshold,
+            List<Group> groups,
+            byte iteration_exponent,
+            Executor executor) {
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return generate(master_secret, passphrase, groups_threshold, groups, iteration_exponent);
+                } catch (SharedSecretException | NoSuchAlgorithmException | InvalidKeyException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return rejected(e);
+        }
+    }
+
+    /**
+     * Asynchronous variant of generate running on the default executor, a
+     * fixed pool with one thread per available processor and a short bounded
+     * queue. Once the queue is full the returned future completes exceptionally
+     * with a RejectedExecutionException and the calling thread is never used to
+     * run the request, bulk callers should pass their own executor.
+     *
+     * @param master_secret: The master secret to split.
+     * @param passphrase: The passphrase used to encrypt the master secret.
+     * @param groups_threshold: The number of groups required to reconstruct the
+     * master secret.
+     * @param groups: The member threshold and member count of each group.
+     * @param iteration_exponent: The encryption iteration exponent.
+     * @return Future of the list of groups mnemonics.
+     */
+    public CompletableFuture<List<String>> generateAsync(
+            byte[] master_secret,
+            String passphrase,
+            byte groups_threshold,
+            List<Group> groups,
+            byte iteration_exponent) {
+
+        return generateAsync(master_secret, passphrase, groups_threshold, groups, iteration_exponent, DefaultExecutor.INSTANCE);
+    }
+
+    private Groups decode(String[] mnemonics) throws SharedSecretException {
+
+        Groups root = new Groups();
+        short[] indices = new short[MNEMONIC_WORDS_MAX];
+        try {
+            for (String mnemonic : mnemonics) {
+                Share share = decode(mnemonic, indices);
+                try {
+                    add(root, share);
+                } finally {
+                    SecretBuffer.wipe(share.value);
+                }
+            }
+
+            if(root.count < root.group_threshold){
+                throw new SharedSecretException(String.format("Insufficient number of mnemonic groups, %d. %d is required", root.count, root.group_threshold));
+            }
+            if (root.count != root.group_threshold) {
+                throw new SharedSecretException(String.format("Wrong number of mnemonic groups (%d). Threshold: %d", root.count, root.group_threshold));
+            }
+        } catch (SharedSecretException e) {
+            root.wipe();
+            throw e;
+        }
+        return root;
+    }
+
+    // tokenizes the mnemonic into indices, checks its length and decodes it
+    static Share decode(CharSequence mnemonic, short[] indices) throws SharedSecretException {
+        int count = Mnemonic.INSTANCE.tokenize(mnemonic, indices);
+        if (count < MNEMONIC_WORDS_MIN || count > MNEMONIC_WORDS_MAX) {
+            throw new SharedSecretException(String.format("Mnemonic length is not legal. (length:%d)", count));
+        }
+        return Mnemonic.INSTANCE.decode(indices, count);
+    }
+
+    // adds a decoded share to the groups checking it against the shares already
+    // present, the value is copied and left to the caller to wipe
+    static void add(Groups root, Share share) throws SharedSecretException {
+
+        if (root.count == 0) {
+            root.id = share.id;
+            root.iteration_exponent = share.iteration_exponent;
+            root.group_threshold = share.group_threshold;
+            root.group_count = share.group_count;
+        } else {
+            if (share.iteration_exponent != root.iteration_exponent) {
+                throw new SharedSecretException(String.format("Iteration numbers of shares are inconsistent... %d/%d",
+                        share.iteration_exponent, root.iteration_exponent));
+            }
+            
+            if (share.id != root.id) {
+                throw new SharedSecretException(String.format("Invalid id... %d/%d",
+                        share.id, root.id));
+            }
+
+            if (share.group_count != root.group_count) {
+                throw new SharedSecretException(String.format("Group count of shares are inconsistent... %d/%d",
+                        share.group_count, root.group_count));
+            }
+
+            if (share.group_threshold != root.group_threshold) {
+                throw new SharedSecretException(String.format("Group threshold of shares are inconsistent... %d/%d",
+                        share.group_threshold, root.group_threshold));
+            }
+        }
+
+        Group group = root.groups[share.group_index];
+        if (group == null) {
+            group = new Group();
+            group.member_threshold = share.member_threshold;
+            root.groups[share.group_index] = group;
+            root.count++;
+        }
+        
+        if(group.member_threshold != share.member_threshold){
+            throw new SharedSecretException(String.format("Mismatching member thresholds... %d/%d", group.member_threshold, share.member_threshold));
+        }
+        
+        if(group.shares().contains(share.member_index)){
+            throw new SharedSecretException(String.format("Duplicate member index %d", share.member_index));
+        }
+        group.shares().add(share.member_index, share.value);
+    }
+
+    /**
+     * Combine mnemonic shares to obtain the master secret which was previously
+     * split using Shamir's secret sharing scheme. This is the user-friendly
+     * method to recover a backed-up secret optionally protected by a
+     * passphrase.
+     *
+     * @param mnemonics: List of mnemonics.
+     * @param passphrase The passphrase used to encrypt the master secret.
+     * @return The master secret.
+     * @throws SharedSecretException
+     * @throws java.security.NoSuchAlgorithmException
+     * @throws java.security.InvalidKeyException
+     */
+    public byte[] combine(String[] mnemonics, String passphrase) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+
+        if (mnemonics == null || mnemonics.length == 0) {
+            throw new SharedSecretException("The list of mnemonic is empty...");
+        }
+
+        long start = Metrics.start();
+        byte[] master_secret = combine(decode(mnemonics), passphrase);
+        Metrics.stop(Metrics.COMBINE, start);
+        return master_secret;
+    }
+
+    /**
+     * Combine mnemonic shares into a master secret held off the heap, see
+     * combine. The encrypted master secret is recovered on the heap and moved
+     * into a buffer, where it is decrypted in place on a direct copy.
+     *
+     * @param mnemonics: List of mnemonics.
+     * @param passphrase: The passphrase used to encrypt the master secret.
+     * @return The master secret, to be closed by the caller.
+     * @throws SharedSecretException
+     * @throws NoSuchAlgorithmException
+     * @throws InvalidKeyException
+     */
+    public SecretBuffer combineSecret(String[] mnemonics, String passphrase) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        if (mnemonics == null || mnemonics.length == 0) {
+            throw new SharedSecretException("The list of mnemonic is empty...");
+        }
+
+        long start = Metrics.start();
+        Groups root = decode(mnemonics);
+        SecretBuffer master_secret;
+        try (SecretBuffer encrypted_master = SecretBuffer.take(recover(root))) {
+            master_secret = Crypto.decrypt((short) root.id, (byte) root.iteration_exponent, encrypted_master, passphrase);
+        }
+        Metrics.stop(Metrics.COMBINE, start);
+        return master_secret;
+    }
+
+    // recovers the master secret from the groups present in root, their share
+    // values are wiped
+    byte[] combine(Groups root, String passphrase) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+
+        byte[] encrypted_master = recover(root);
+        try {
+            return Crypto.decrypt((short) root.id, (byte) root.iteration_exponent, encrypted_master, passphrase);
+        } finally {
+            SecretBuffer.wipe(encrypted_master);
+        }
+    }
+
+    // recovers the encrypted master secret from the groups present in root,
+    // their share values are wiped
+    private byte[] recover(Groups root) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+
+        ShareSet group_shares = new ShareSet(MAX_SHARE_COUNT);
+        try {
+            for (int index = 0; index < root.groups.length; index++) {
+                Group group = root.groups[index];
+                if (group == null) {
+                    continue;
+                }
+                if (group.shares().size() < group.member_threshold) {
+                    throw new SharedSecretException(String.format("Member number is less than threshold... %d/%d",
+                            group.shares().size(),
+                            group.member_threshold));
+                }
+
+                byte[] group_share = recover(group.shares());
+                try {
+                    group_shares.add(index, group_share);
+                } finally {
+                    SecretBuffer.wipe(group_share);
+                }
+            }
+            return recover(group_shares);
+        } finally {
+            root.wipe();
+            group_shares.wipe();
+        }
+    }
+    
+    /**
+     * Completes a mnemonic with up to two lost words, each written as "?",
+     * and keeps the completions that agree with other shares of the same
+     * secret. A completion must match their metadata, and where its group
+     * holds enough shares its value must lie on the group polynomial.
+     *
+     * @param mnemonic: The mnemonic with lost words.
+     * @param mnemonics: Other mnemonics of the same secret, possibly empty.
+     * @return The consistent completions.
+     * @throws SharedSecretException
+     */
+    public List<String> complete(String mnemonic, String[] mnemonics) throws SharedSecretException {
+
+        Groups root = new Groups();
+        short[] indices = new short[MNEMONIC_WORDS_MAX];
+        List<String> result = new ArrayList<>();
+        try {
+            for (String other : mnemonics) {
+                Share share = decode(other, indices);
+                try {
+                    add(root, share);
+                } finally {
+                    SecretBuffer.wipe(share.value);
+                }
+            }
+
+            for (String candidate : Mnemonic.INSTANCE.complete(mnemonic)) {
+                Share share = Mnemonic.INSTANCE.decode(candidate);
+                try {
+                    if (consistent(root, share)) {
+                        result.add(candidate);
+                    }
+                } finally {
+                    SecretBuffer.wipe(share.value);
+                }
+            }
+        } finally {
+            root.wipe();
+        }
+        return result;
+    }
+
+    // checks a completed share against the metadata and group polynomials in root
+    private boolean consistent(Groups root, Share share) throws SharedSecretException {
+        if (root.count > 0 && (share.id != root.id
+                || share.iteration_exponent != root.iteration_exponent
+                || share.group_threshold != root.group_threshold
+                || share.group_count != root.group_count)) {
+            return false;
+        }
+        Group group = root.groups[share.group_index];
+        if (group == null) {
+            return true;
+        }
+        if (group.member_threshold != share.member_threshold || group.shares().length() != share.value.length) {
+            return false;
+        }
+        byte[] value;
+        int index = group.shares().indexOf(share.member_index);
+        if (index >= 0) {
+            value = group.shares().value(index);
+        } else if (group.shares().size() >= group.member_threshold) {
+            value = interpolate(group.shares(), share.member_index);
+        } else {
+            return true;
+        }
+        boolean equal = Arrays.equals(value, share.value);
+        SecretBuffer.wipe(value);
+        return equal;
+    }
+
+    /**
+     * Asynchronous variant of combine running the key derivation on the
+     * executor.
+     *
+     * @param mnemonics: List of mnemonics.
+     * @param passphrase: The passphrase used to encrypt the master secret.
+     * @param executor: Executor running the recovery.
+     * @return Future of the master secret. It completes exceptionally with the
+     * SharedSecretException or crypto exception combine would have thrown, or
+     * with a RejectedExecutionException if the executor does not accept the
+     * task.
+     */
+    public CompletableFuture<byte[]> combineAsync(String[] mnemonics, String passphrase, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return combine(mnemonics, passphrase);
+                } catch (SharedSecretException | NoSuchAlgorithmException | InvalidKeyException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            return rejected(e);
+        }
+    }
+
+    // a future failed with the rejection of its task
+    private static <T> CompletableFuture<T> rejected(RejectedExecutionException e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    /**
+     * Asynchronous variant of combine running on the default executor, a fixed
+     * pool with one thread per available processor and a short bounded queue.
+     * Once the queue is full the returned future completes exceptionally with a
+     * RejectedExecutionException and the calling thread is never used to run
+     * the request, bulk callers should pass their own executor.
+     *
+     * @param mnemonics: List of mnemonics.
+     * @param passphrase: The passphrase used to encrypt the master secret.
+     * @return Future of the master secret.
+     */
+    public CompletableFuture<byte[]> combineAsync(String[] mnemonics, String passphrase) {
+        return combineAsync(mnemonics, passphrase, DefaultExecutor.INSTANCE);
+    }
+    
+    private byte[] recover(ShareSet shares) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException{
+        
+        if(shares.size() == 1){
+            return shares.value(0);
+        }
+        
+        byte[] shared_secret = new byte[shares.length()];
+        byte[] digest_share = new byte[shares.length()];
+        byte[] random_part = null;
+        byte[] mac = null;
+        boolean valid = false;
+        try {
+            interpolate(shares, RECOVER_INDEX, new byte[][]{shared_secret, digest_share});
+
+            random_part = Arrays.copyOfRange(digest_share, DIGEST_LENGTH_BYTES, digest_share.length);
+            mac = Crypto.digest(random_part, shared_secret);
+            valid = MessageDigest.isEqual(Arrays.copyOfRange(digest_share, 0, DIGEST_LENGTH_BYTES), Arrays.copyOfRange(mac, 0, DIGEST_LENGTH_BYTES));
+        } finally {
+            SecretBuffer.wipe(digest_share, random_part, mac);
+            if (!valid) {
+                SecretBuffer.wipe(shared_secret);
+            }
+        }
+        
+        if(!valid){
+            Metrics.increment(Metrics.DIGEST_MISMATCH);
+            if (Trace.ENABLED) {
+                Trace.event("recover: digest mismatch over {} shares", shares.size());
+            }
+            throw new SharedSecretException("Invalid digest");
+        }
+        return shared_secret;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret;
+
+import static iton.slip.secret.Common.ID_LENGTH_BITS;
+import static iton.slip.secret.Common.MNEMONIC_WORDS_MAX;
+import com.google.common.base.CharMatcher;
+import iton.slip.secret.metrics.Metrics;
+import iton.slip.secret.util.SecretBuffer;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * Combines mnemonic shares of many master secrets read one per line. Shares
+ * are grouped by their identifier and each master secret is handed to the
+ * callback as soon as enough groups are complete, after which its shares are
+ * dropped. Only identifiers still waiting for shares are kept in memory, plus
+ * one bit per recovered identifier.
+ *
+ * Identifiers are only 15 bits, so in a stream of thousands of secrets some
+ * will collide. Each secret is recovered at most once per identifier:
+ * <ul>
+ * <li>Shares of an identifier already recovered are skipped, whether they are
+ * surplus shares of that secret or belong to a colliding one.</li>
+ * <li>Shares that conflict with the shares held for their identifier, such as
+ * repeated member indices or different parameters, are rejected.</li>
+ * <li>If the shares held for an identifier fail the digest check, which
+ * happens when colliding secrets with the same layout are mixed, all of them
+ * are dropped and counted as rejected. A later share opens a new entry.</li>
+ * </ul>
+ * Neither case stops the stream, see skipped and rejected. Secrets lost to a
+ * collision have to be combined again in a separate stream.
+ */
+public class StreamingCombiner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingCombiner.class);
+
+    /**
+     * Receives each recovered master secret.
+     */
+    public interface Callback {
+
+        void accept(int id, byte[] master_secret);
+    }
+
+    private final SharedSecret shared = new SharedSecret();
+    private final Map<Integer, Groups> pending = new HashMap<>();
+    private final BitSet recovered = new BitSet(1 << ID_LENGTH_BITS);
+    private final short[] indices = new short[MNEMONIC_WORDS_MAX];
+    private final String passphrase;
+    private final Callback callback;
+    private int skipped;
+    private int rejected;
+
+    /**
+     * @param passphrase: The passphrase used to encrypt the master secrets.
+     * @param callback: Receives each master secret once recovered.
+     */
+    public StreamingCombiner(String passphrase, Callback callback) {
+        this.passphrase = passphrase;
+        this.callback = callback;
+    }
+
+    /**
+     * Adds a mnemonic share. Blank mnemonics are ignored, shares of recovered
+     * identifiers are skipped and conflicting shares are rejected.
+     *
+     * @param mnemonic: The mnemonic share.
+     * @return true if the share completed a master secret.
+     * @throws SharedSecretException if the mnemonic itself is invalid.
+     * @throws NoSuchAlgorithmException
+     * @throws InvalidKeyException
+     */
+    public boolean add(CharSequence mnemonic) throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+
+        if (CharMatcher.whitespace().matchesAllOf(mnemonic)) {
+            return false;
+        }
+        Share share = SharedSecret.decode(mnemonic, indices);
+        if (recovered.get(share.id)) {
+            SecretBuffer.wipe(share.value);
+            skipped++;
+            return false;
+        }
+        Groups root = pending.get(share.id);
+        boolean created = root == null;
+        if (created) {
+            root = new Groups();
+            pending.put(share.id, root);
+        }
+        try {
+            SharedSecret.add(root, share);
+        } catch (SharedSecretException e) {
+            LOG.debug("Rejected share of identifier {}: {}", share.id, e.getMessage());
+            rejected++;
+            if (created) {
+                pending.remove(share.id);
+            }
+            return false;
+        } finally {
+            SecretBuffer.wipe(share.value);
+        }
+
+        if (root.complete() < root.group_threshold) {
+            return false;
+        }
+        pending.remove(share.id);
+        long start = Metrics.start();
+        byte[] master_secret;
+        try {
+            master_secret = shared.combine(threshold(root), passphrase);
+        } catch (SharedSecretException e) {
+            LOG.debug("Dropped shares of identifier {}: {}", share.id, e.getMessage());
+            rejected += wipe(root);
+            return false;
+        } finally {
+            Metrics.stop(Metrics.COMBINE, start);
+        }
+        // the groups left out of the combination still hold share values
+        root.wipe();
+        recovered.set(share.id);
+        callback.accept(share.id, master_secret);
+        return true;
+    }
+
+    /**
+     * Reads mnemonic shares, one per line, until the end of the input.
+     *
+     * @param reader: The mnemonic shares.
+     * @return The number of master secrets recovered.
+     * @throws IOException
+     * @throws SharedSecretException
+     * @throws NoSuchAlgorithmException
+     * @throws InvalidKeyException
+     */
+    public int combine(Reader reader) throws IOException, SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        int count = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (add(line)) {
+                count++;
+            }
+        }
+        LOG.debug("Recovered {} secrets, {} identifiers incomplete, {} shares skipped, {} rejected", count, pending.size(), skipped, rejected);
+        return count;
+    }
+
+    /**
+     * Reads UTF-8 mnemonic shares, one per line, until the end of the input.
+     *
+     * @param input: The mnemonic shares.
+     * @return The number of master secrets recovered.
+     * @throws IOException
+     * @throws SharedSecretException
+     * @throws NoSuchAlgorithmException
+     * @throws InvalidKeyException
+     */
+    public int combine(InputStream input) throws IOException, SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        return combine(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return The number of identifiers still waiting for shares.
+     */
+    public int pending() {
+        return pending.size();
+    }
+
+    /**
+     * @return The number of shares skipped because their identifier was
+     * already recovered.
+     */
+    public int skipped() {
+        return skipped;
+    }
+
+    /**
+     * @return The number of shares rejected because they conflicted with the
+     * shares of their identifier.
+     */
+    public int rejected() {
+        return rejected;
+    }
+
+    // zeroes the share values held for an identifier, returns their number
+    private static int wipe(Groups root) {
+        int count = 0;
+        for (Group group : root.groups) {
+            if (group != null) {
+                count += group.shares().size();
+            }
+        }
+        root.wipe();
+        return count;
+    }
+
+    // keeps group_threshold complete groups, the groups still short of shares are left out
+    private static Groups threshold(Groups root) {
+        Groups result = new Groups();
+        result.id = root.id;
+        result.iteration_exponent = root.iteration_exponent;
+        result.group_threshold = root.group_threshold;
+        result.group_count = root.group_count;
+        for (int index = 0; index < root.groups.length && result.count < root.group_threshold; index++) {
+            Group group = root.groups[index];
+            if (group != null && group.shares().size() >= group.member_threshold) {
+                result.groups[index] = group;
+                result.count++;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * Keeps timings in memory as histograms with power of two nanosecond
+ * buckets, meant for tests and diagnostics.
+ */
+public class HistogramRecorder implements MetricsRecorder {
+
+    private final Map<String, Histogram> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void record(String timer, long nanos) {
+        timers.computeIfAbsent(timer, name -> new Histogram()).record(nanos);
+    }
+
+    @Override
+    public void increment(String counter) {
+        counters.computeIfAbsent(counter, name -> new LongAdder()).increment();
+    }
+
+    /**
+     * @param timer: The timer name.
+     * @return The histogram of the timer, empty if nothing was recorded.
+     */
+    public Histogram timer(String timer) {
+        Histogram histogram = timers.get(timer);
+        return histogram == null ? new Histogram() : histogram;
+    }
+
+    /**
+     * @param counter: The counter name.
+     * @return The count, 0 if never incremented.
+     */
+    public long counter(String counter) {
+        LongAdder adder = counters.get(counter);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public void clear() {
+        timers.clear();
+        counters.clear();
+    }
+
+    /**
+     * Durations in nanoseconds, bucket i counting durations in [2^(i-1),
+     * 2^i).
+     */
+    public static class Histogram {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+
+        void record(long nanos) {
+            long value = Math.max(nanos, 0);
+            buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(value));
+            count.increment();
+            total.add(value);
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long total() {
+            return total.sum();
+        }
+
+        public double mean() {
+            long n = count();
+            return n == 0 ? 0 : (double) total() / n;
+        }
+
+        /**
+         * @param quantile: The quantile, between 0 and 1.
+         * @return Upper bound of the bucket holding the quantile, 0 if empty.
+         */
+        public long percentile(double quantile) {
+            long n = count();
+            if (n == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * n);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= Math.max(rank, 1)) {
+                    return i == Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.metrics;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * Holds the recorder the library reports to, the no-op recorder unless one
+ * is set. Timed code calls start and stop, which do not read the clock while
+ * the no-op recorder is installed.
+ */
+public final class Metrics {
+
+    // timers
+    public static final String GENERATE = "shared_secret.generate";
+    public static final String COMBINE = "shared_secret.combine";
+    public static final String INTERPOLATE = "shared_secret.interpolate";
+    public static final String ENCRYPT = "crypto.encrypt";
+    public static final String DECRYPT = "crypto.decrypt";
+    public static final String MNEMONIC_ENCODE = "mnemonic.encode";
+    public static final String MNEMONIC_DECODE = "mnemonic.decode";
+    public static final String MNEMONIC_TOKENIZE = "mnemonic.tokenize";
+
+    // counters
+    public static final String CHECKSUM_FAILURE = "mnemonic.checksum_failure";
+    public static final String DIGEST_MISMATCH = "shared_secret.digest_mismatch";
+
+    private static volatile MetricsRecorder recorder = MetricsRecorder.NOOP;
+
+    private Metrics() {
+    }
+
+    public static MetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * @param recorder: The recorder, null restores the no-op recorder.
+     */
+    public static void setRecorder(MetricsRecorder recorder) {
+        Metrics.recorder = recorder == null ? MetricsRecorder.NOOP : recorder;
+    }
+
+    /**
+     * @return Start time of a timed operation, 0 if nothing is recorded.
+     */
+    public static long start() {
+        return recorder == MetricsRecorder.NOOP ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Records the time since start.
+     *
+     * @param timer: The timer name.
+     * @param start: The value returned by start.
+     */
+    public static void stop(String timer, long start) {
+        MetricsRecorder current = recorder;
+        if (current != MetricsRecorder.NOOP && start != 0) {
+            current.record(timer, System.nanoTime() - start);
+        }
+    }
+
+    public static void increment(String counter) {
+        recorder.increment(counter);
+    }
+}
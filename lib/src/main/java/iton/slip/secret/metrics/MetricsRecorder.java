@@ -1,72 +1,59 @@
-/*
- * The MIT License
- *
- * Copyright 2020 ITON Solutions.
- *
- * Permission is hereby granted, free of charge, to any person obtaining a copy
- * of this software and associated documentation files (the "Software"), to deal
- * in the Software without restriction, including without limitation the rights
- * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
- * copies of the Software, and to permit persons to whom the Software is
- * furnished to do so, subject to the following conditions:
- *
- * The above copyright notice and this permission notice shall be included in
- * all copies or substantial portions of the Software.
- *
- * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
- * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
- * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
- * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
- * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
- * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
- * THE SOFTWARE.
- */
-package iton.slip.secret.util;
-
-import org.junit.After;
-import org.junit.AfterClass;
-import org.junit.Before;
-import org.junit.BeforeClass;
-import org.junit.Test;
-import static org.junit.Assert.*;
-
-/**
- *
- * @author Andrei
- */
-public class ChecksumTest {
-    
-    public ChecksumTest() {
-    }
-    
-    @BeforeClass
-    public static void setUpClass() {
-    }
-    
-    @AfterClass
-    public static void tearDownClass() {
-    }
-    
-    @Before
-    public void setUp() {
-    }
-    
-    @After
-    public void tearDown() {
-    }
-
-    /**
-     * Test of verify method, of class Checksum.
-     */
-    @Test
-    public void testCreateVerify() {
-        short[] data = new short[]{1,2,3,4,5,6,7,8,9};
-        short[] checksum = Checksum.create(data);
-
-        short[] result = new short[data.length + checksum.length];
-        System.arraycopy(data, 0, result, 0, data.length);
-        System.arraycopy(checksum, 0, result, data.length, checksum.length);
-        assertTrue(Checksum.verify(result));
-       
-    }
-}
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.metrics;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * Receives timings and counts of the library operations. Implementations
+ * are called from any thread and must be thread safe.
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Discards everything, the default recorder.
+     */
+    MetricsRecorder NOOP = new MetricsRecorder() {
+        @Override
+        public void record(String timer, long nanos) {
+        }
+
+        @Override
+        public void increment(String counter) {
+        }
+    };
+
+    /**
+     * @param timer: The timer name, see Metrics.
+     * @param nanos: Duration of one operation in nanoseconds.
+     */
+    void record(String timer, long nanos);
+
+    /**
+     * @param counter: The counter name, see Metrics.
+     */
+    void increment(String counter);
+}
@@ -0,0 +1,285 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.util;
+
+import static iton.slip.secret.Common.CHECKSUM_LENGTH_WORDS;
+import static iton.slip.secret.Common.MNEMONIC_WORDS_MAX;
+import static iton.slip.secret.Common.RADIX_BITS;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class Checksum {
+    
+    private static final byte[] CUSTOMIZATION_STRING = "shamir".getBytes(); // The customization string used in the RS1024 checksum and in the PBKDF2 salt.
+    
+    private static final int[] GEN = new int[]{
+        0xE0E040, 0x1C1C080, 0x3838100, 0x7070200, 0xE0E0009, 
+        0x1C0C2412, 0x38086C24, 0x3090FC48, 0x21B1F890, 0x3F3F120
+    };
+    
+    // GEN terms selected by each value of the top 10 bits of the state
+    private static final int[] TABLE = new int[1 << 10];
+    // state after the customization string
+    private static final int PREFIX;
+    
+    static {
+        for (int b = 0; b < TABLE.length; b++) {
+            int term = 0;
+            for (int i = 0; i < 10; i++) {
+                if (((b >> i) & 1) != 0) {
+                    term ^= GEN[i];
+                }
+            }
+            TABLE[b] = term;
+        }
+        int chk = 1;
+        for (byte v : CUSTOMIZATION_STRING) {
+            chk = step(chk, v);
+        }
+        PREFIX = chk;
+    }
+    
+    // Error syndromes. A word changed by e at k positions from the end of the
+    // range changes the final state by a linear map of e. For each k the ten
+    // images of the unit errors are kept in echelon form, SYNDROME holding the
+    // reduced image with its highest bit as pivot and ERROR the error mapping
+    // to it, so a state difference can be solved for e in ten steps.
+    private static final int[][] SYNDROME = new int[MNEMONIC_WORDS_MAX][RADIX_BITS];
+    private static final int[][] ERROR = new int[MNEMONIC_WORDS_MAX][RADIX_BITS];
+    // images of the unit errors at k positions from the end
+    private static final int[][] IMAGE = new int[MNEMONIC_WORDS_MAX][RADIX_BITS];
+    
+    static {
+        int[] image = new int[RADIX_BITS];
+        for (int bit = 0; bit < RADIX_BITS; bit++) {
+            image[bit] = 1 << bit;
+        }
+        for (int k = 0; k < MNEMONIC_WORDS_MAX; k++) {
+            int[] syndrome = SYNDROME[k];
+            int[] error = ERROR[k];
+            System.arraycopy(image, 0, IMAGE[k], 0, RADIX_BITS);
+            for (int bit = 0; bit < RADIX_BITS; bit++) {
+                syndrome[bit] = image[bit];
+                error[bit] = 1 << bit;
+            }
+            for (int row = 0; row < RADIX_BITS; row++) {
+                int pivot = row;
+                for (int i = row + 1; i < RADIX_BITS; i++) {
+                    if (Integer.compareUnsigned(syndrome[i], syndrome[pivot]) > 0) {
+                        pivot = i;
+                    }
+                }
+                swap(syndrome, row, pivot);
+                swap(error, row, pivot);
+                int high = Integer.highestOneBit(syndrome[row]);
+                for (int i = 0; i < RADIX_BITS; i++) {
+                    if (i != row && (syndrome[i] & high) != 0) {
+                        syndrome[i] ^= syndrome[row];
+                        error[i] ^= error[row];
+                    }
+                }
+            }
+            for (int bit = 0; bit < RADIX_BITS; bit++) {
+                image[bit] = step(image[bit], 0);
+            }
+        }
+    }
+    
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+    
+    private static int step(int chk, int v) {
+        return TABLE[chk >>> 20] ^ ((chk & 0xFFFFF) << 10) ^ v;
+    }
+    
+    private static int checksum(short[] data, int from, int to) {
+        int chk = PREFIX;
+        for (int i = from; i < to; i++) {
+            chk = step(chk, data[i]);
+        }
+        return chk;
+    }
+    
+    public static boolean verify(short[] words){
+        return verify(words, 0, words.length);
+    }
+    
+    /**
+     * Verifies the checksum of a range of words ending with its checksum
+     * words.
+     *
+     * @param words: The words.
+     * @param from: Index of the first word.
+     * @param to: Index after the last checksum word.
+     * @return true if the checksum is valid.
+     */
+    public static boolean verify(short[] words, int from, int to){
+        return checksum(words, from, to) == 1;
+    }
+    
+    public static short[] create(short[] data){
+        short[] result = new short[data.length + CHECKSUM_LENGTH_WORDS];
+        System.arraycopy(data, 0, result, 0, data.length);
+        create(result, 0, data.length);
+        return Arrays.copyOfRange(result, data.length, result.length);
+    }
+    
+    /**
+     * Computes the checksum of a range of words and writes it into the
+     * CHECKSUM_LENGTH_WORDS words following the range.
+     *
+     * @param data: The words, with room for the checksum after the range.
+     * @param from: Index of the first word.
+     * @param to: Index after the last word.
+     */
+    public static void create(short[] data, int from, int to){
+        int chk = checksum(data, from, to);
+        for (int i = 0; i < CHECKSUM_LENGTH_WORDS; i++) {
+            chk = step(chk, 0);
+        }
+        chk ^= 1;
+        for (int i = CHECKSUM_LENGTH_WORDS; i > 0; i--) {
+            data[to + CHECKSUM_LENGTH_WORDS - i] = (short) ((chk >> 10 * (i - 1)) & 0x3FF);
+        }
+    }
+    
+    /**
+     * Finds the words that turn a range with an invalid checksum into a valid
+     * one by changing a single word. The state difference to a valid checksum
+     * is solved for the error at each position, so no substitutions are tried.
+     *
+     * @param words: The words.
+     * @param from: Index of the first word.
+     * @param to: Index after the last checksum word.
+     * @return Corrected copies of the range, one per position where a single
+     * word change makes the checksum valid. A copy of the range if the
+     * checksum is valid already.
+     */
+    public static List<short[]> correct(short[] words, int from, int to) {
+        List<short[]> result = new ArrayList<>();
+        int difference = checksum(words, from, to) ^ 1;
+        if (difference == 0) {
+            result.add(Arrays.copyOfRange(words, from, to));
+            return result;
+        }
+        for (int k = 0; k < Math.min(to - from, MNEMONIC_WORDS_MAX); k++) {
+            int error = solve(k, difference);
+            if (error > 0) {
+                short[] candidate = Arrays.copyOfRange(words, from, to);
+                candidate[candidate.length - 1 - k] ^= error;
+                result.add(candidate);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Finds the values of up to two lost words that make the checksum of a
+     * range valid. The state difference is solved for the second word for
+     * each of the 1024 values of the first, so the search costs about ten
+     * thousand XORs.
+     *
+     * @param words: The words, the values at the lost positions are ignored.
+     * @param from: Index of the first word.
+     * @param to: Index after the last checksum word.
+     * @param unknown: Indices of the lost words, at most two.
+     * @return Completed copies of the range.
+     */
+    public static List<short[]> complete(short[] words, int from, int to, int... unknown) {
+        if (unknown.length > 2) {
+            throw new IllegalArgumentException(String.format("Too many unknown words (%d)", unknown.length));
+        }
+        short[] range = Arrays.copyOfRange(words, from, to);
+        for (int position : unknown) {
+            range[position - from] = 0;
+        }
+        int difference = checksum(range, 0, range.length) ^ 1;
+        List<short[]> result = new ArrayList<>();
+        
+        if (unknown.length == 0) {
+            if (difference == 0) {
+                result.add(range);
+            }
+        } else if (unknown.length == 1) {
+            int k = to - 1 - unknown[0];
+            if (k < MNEMONIC_WORDS_MAX) {
+                int value = solve(k, difference);
+                if (value >= 0) {
+                    range[unknown[0] - from] = (short) value;
+                    result.add(range);
+                }
+            }
+        } else {
+            int k1 = to - 1 - unknown[0];
+            int k2 = to - 1 - unknown[1];
+            if (k1 < MNEMONIC_WORDS_MAX && k2 < MNEMONIC_WORDS_MAX && k1 != k2) {
+                for (int first = 0; first < (1 << RADIX_BITS); first++) {
+                    int second = solve(k2, difference ^ image(k1, first));
+                    if (second >= 0) {
+                        short[] candidate = range.clone();
+                        candidate[unknown[0] - from] = (short) first;
+                        candidate[unknown[1] - from] = (short) second;
+                        result.add(candidate);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+    
+    // state difference caused by an error at k positions from the end
+    private static int image(int k, int error) {
+        int[] image = IMAGE[k];
+        int result = 0;
+        for (int bit = 0; bit < RADIX_BITS; bit++) {
+            if (((error >> bit) & 1) != 0) {
+                result ^= image[bit];
+            }
+        }
+        return result;
+    }
+    
+    // error at k positions from the end causing the state difference, -1 if none
+    private static int solve(int k, int difference) {
+        int[] syndrome = SYNDROME[k];
+        int[] error = ERROR[k];
+        int result = 0;
+        for (int row = 0; row < RADIX_BITS && difference != 0; row++) {
+            if ((difference & Integer.highestOneBit(syndrome[row])) != 0) {
+                difference ^= syndrome[row];
+                result ^= error[row];
+            }
+        }
+        return difference == 0 ? result : -1;
+    }
+}
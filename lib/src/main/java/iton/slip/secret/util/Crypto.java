@@ -0,0 +1,254 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret.util;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import static iton.slip.secret.Common.BASE_ITERATION_COUNT;
+import static iton.slip.secret.Common.CUSTOMIZATION_STRING;
+import static iton.slip.secret.Common.ROUND_COUNT;
+import iton.slip.secret.SharedSecretException;
+import iton.slip.secret.metrics.Metrics;
+import java.nio.ByteBuffer;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class Crypto {
+
+    // encrypt master with a passphrase
+    public static byte[] encrypt(short id,
+            byte iteration_exponent,
+            byte[] master, String passphrase) throws SharedSecretException {
+        return encrypt(id, iteration_exponent, master, passphrase, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Encrypts the master secret with a passphrase. Round keys longer than one
+     * SHA-256 digest consist of independent PBKDF2 blocks, which are computed
+     * in parallel on the executor.
+     *
+     * @param id The random identifier.
+     * @param iteration_exponent The iteration exponent.
+     * @param master The master secret.
+     * @param passphrase The passphrase.
+     * @param executor Executor running the PBKDF2 blocks of each round.
+     * @return The encrypted master secret.
+     * @throws SharedSecretException
+     */
+    public static byte[] encrypt(short id,
+            byte iteration_exponent,
+            byte[] master, String passphrase, Executor executor) throws SharedSecretException {
+        checkLength(master.length);
+        long start = Metrics.start();
+        byte[] result = Arrays.copyOf(master, master.length);
+        try {
+            feistel(id, iteration_exponent, ByteBuffer.wrap(result), passphrase, false, executor);
+        } catch (RuntimeException e) {
+            SecretBuffer.wipe(result);
+            throw e;
+        }
+        Metrics.stop(Metrics.ENCRYPT, start);
+        return result;
+    }
+
+    /**
+     * Encrypts a master secret held off the heap. The rounds run in place on a
+     * direct copy, only the round input and output are on the heap.
+     *
+     * @param id The random identifier.
+     * @param iteration_exponent The iteration exponent.
+     * @param master The master secret.
+     * @param passphrase The passphrase.
+     * @return The encrypted master secret, to be closed by the caller.
+     * @throws SharedSecretException
+     */
+    public static SecretBuffer encrypt(short id,
+            byte iteration_exponent,
+            SecretBuffer master, String passphrase) throws SharedSecretException {
+        checkLength(master.length());
+        long start = Metrics.start();
+        SecretBuffer result = master.copy();
+        try {
+            feistel(id, iteration_exponent, result.buffer(), passphrase, false, MoreExecutors.directExecutor());
+        } catch (RuntimeException e) {
+            result.close();
+            throw e;
+        }
+        Metrics.stop(Metrics.ENCRYPT, start);
+        return result;
+    }
+
+    // decrypt encrypted master with a passphrase
+    public static byte[] decrypt(short id,
+            byte iteration_exponent,
+            byte[] encrypted_master, String passphrase) throws SharedSecretException {
+        return decrypt(id, iteration_exponent, encrypted_master, passphrase, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Decrypts the encrypted master secret with a passphrase. Round keys longer
+     * than one SHA-256 digest consist of independent PBKDF2 blocks, which are
+     * computed in parallel on the executor.
+     *
+     * @param id The random identifier.
+     * @param iteration_exponent The iteration exponent.
+     * @param encrypted_master The encrypted master secret.
+     * @param passphrase The passphrase.
+     * @param executor Executor running the PBKDF2 blocks of each round.
+     * @return The master secret.
+     * @throws SharedSecretException
+     */
+    public static byte[] decrypt(short id,
+            byte iteration_exponent,
+            byte[] encrypted_master, String passphrase, Executor executor) throws SharedSecretException {
+        checkLength(encrypted_master.length);
+        long start = Metrics.start();
+        byte[] result = Arrays.copyOf(encrypted_master, encrypted_master.length);
+        try {
+            feistel(id, iteration_exponent, ByteBuffer.wrap(result), passphrase, true, executor);
+        } catch (RuntimeException e) {
+            SecretBuffer.wipe(result);
+            throw e;
+        }
+        Metrics.stop(Metrics.DECRYPT, start);
+        return result;
+    }
+
+    /**
+     * Decrypts a master secret held off the heap. The rounds run in place on a
+     * direct copy, only the round input and output are on the heap.
+     *
+     * @param id The random identifier.
+     * @param iteration_exponent The iteration exponent.
+     * @param encrypted_master The encrypted master secret.
+     * @param passphrase The passphrase.
+     * @return The master secret, to be closed by the caller.
+     * @throws SharedSecretException
+     */
+    public static SecretBuffer decrypt(short id,
+            byte iteration_exponent,
+            SecretBuffer encrypted_master, String passphrase) throws SharedSecretException {
+        checkLength(encrypted_master.length());
+        long start = Metrics.start();
+        SecretBuffer result = encrypted_master.copy();
+        try {
+            feistel(id, iteration_exponent, result.buffer(), passphrase, true, MoreExecutors.directExecutor());
+        } catch (RuntimeException e) {
+            result.close();
+            throw e;
+        }
+        Metrics.stop(Metrics.DECRYPT, start);
+        return result;
+    }
+
+    // the Feistel network needs two halves of equal length
+    private static void checkLength(int length) throws SharedSecretException {
+        if (length % 2 != 0) {
+            throw new SharedSecretException(String.format("Secret length must be even (%d)", length));
+        }
+    }
+
+    // PBKDF2 key states for the passwords round || passphrase of each round
+    private static Pbkdf2[] keys(String passphrase) {
+        byte[] bytes = passphrase.getBytes();
+        byte[] password = new byte[bytes.length + 1];
+        System.arraycopy(bytes, 0, password, 1, bytes.length);
+        
+        Pbkdf2[] keys = new Pbkdf2[ROUND_COUNT];
+        try {
+            for (byte i = 0; i < ROUND_COUNT; i++) {
+                password[0] = i;
+                keys[i] = new Pbkdf2(password);
+            }
+        } finally {
+            SecretBuffer.wipe(bytes, password);
+        }
+        return keys;
+    }
+
+    /**
+     * Runs the Feistel network in place over the working buffer holding the
+     * left and right halves. Rounds swap the halves by index, the salt prefix
+     * of the round input is built once and only its IR part is rewritten.
+     * The round input, round output and key states are wiped on return.
+     */
+    private static void feistel(short id, int iteration_exponent, ByteBuffer work, String passphrase, boolean decrypt, Executor executor) {
+
+        int half = work.capacity() / 2;
+        int iteration_count = (BASE_ITERATION_COUNT << iteration_exponent) / ROUND_COUNT;
+
+        // salt || IR
+        byte[] secret = new byte[CUSTOMIZATION_STRING.length + Short.BYTES + half];
+        System.arraycopy(CUSTOMIZATION_STRING, 0, secret, 0, CUSTOMIZATION_STRING.length);
+        secret[CUSTOMIZATION_STRING.length] = (byte) (id >> 8);
+        secret[CUSTOMIZATION_STRING.length + 1] = (byte) id;
+        int salt_length = secret.length - half;
+        byte[] round = new byte[half];
+
+        Pbkdf2[] keys = keys(passphrase);
+        try {
+            int left = 0;
+            int right = half;
+            for (int i = 0; i < ROUND_COUNT; i++) {
+                Pbkdf2 key = keys[decrypt ? ROUND_COUNT - 1 - i : i];
+                for (int j = 0; j < half; j++) {
+                    secret[salt_length + j] = work.get(right + j);
+                }
+                key.derive(secret, iteration_count, round, 0, half, executor);
+                for (int j = 0; j < half; j++) {
+                    work.put(left + j, (byte) (work.get(left + j) ^ round[j]));
+                }
+                int swap = left;
+                left = right;
+                right = swap;
+            }
+            // output is IR || IL
+            if (right != 0) {
+                for (int j = 0; j < half; j++) {
+                    byte swap = work.get(j);
+                    work.put(j, work.get(half + j));
+                    work.put(half + j, swap);
+                }
+            }
+        } finally {
+            SecretBuffer.wipe(secret, round);
+            for (Pbkdf2 key : keys) {
+                key.wipe();
+            }
+        }
+    }
+
+    public static byte[] digest(byte[] random_data, byte[] shared_secret) throws NoSuchAlgorithmException, InvalidKeyException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(random_data, "HmacSHA256"));
+        return mac.doFinal(shared_secret);
+    }
+}
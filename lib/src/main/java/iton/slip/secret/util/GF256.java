@@ -0,0 +1,262 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.util;
+
+import java.util.Arrays;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * Arithmetic in GF(256) with the Rijndael polynomial x^8 + x^4 + x^3 + x + 1,
+ * backed by a precomputed 64 KiB multiplication table. Row kernels multiply a
+ * whole share value by a constant through a single 256 byte slice of the table.
+ * Long rows are handed to a vector kernel when the JDK Vector API is available
+ * (jdk.incubator.vector), otherwise a scalar kernel is used.
+ *
+ * The table kernel indexes memory with the share bytes, which leaks them
+ * through cache timing. The default scalar kernel is therefore constant time:
+ * it multiplies eight bytes at once, packed in a long, with shifts and masks
+ * only. The table kernel can still be selected with setMode.
+ */
+public class GF256 {
+
+    public static final int ORDER = 256;
+
+    // MUL[(a << 8) | b] = a * b
+    private static final byte[] MUL = new byte[ORDER * ORDER];
+
+    // Minimal row length handed to the vector kernel. Until C2 compiles them the
+    // Vector API operations are orders of magnitude slower than the table
+    // kernel, so only rows long enough to trigger compilation quickly use it.
+    public static final int VECTOR_THRESHOLD = 16 * 1024;
+
+    static {
+        for (int a = 1; a < ORDER; a++) {
+            for (int b = 1; b < ORDER; b++) {
+                MUL[(a << 8) | b] = (byte) Utils.EXP[(Utils.LOG[a] + Utils.LOG[b]) % 255];
+            }
+        }
+    }
+
+    private static final RowKernel VECTOR = loadVector();
+
+    private static final long LOW_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long LOW_BIT = 0x0101010101010101L;
+    private static final int REDUCTION = 0x1B; // x^8 = x^4 + x^3 + x + 1
+
+    /**
+     * Scalar row kernel selection.
+     */
+    public enum Mode {
+        TABLE, // table lookups indexed by the row bytes
+        CONSTANT_TIME // no branches or memory accesses depending on the row bytes
+    }
+
+    private static volatile Mode mode = Mode.CONSTANT_TIME;
+
+    /**
+     * Multiply-accumulate kernel over a row of bytes, dst[i] ^= c * src[i].
+     */
+    public interface RowKernel {
+
+        void mulAdd(byte[] dst, int dst_offset, byte[] src, int src_offset, int length, int c);
+    }
+
+    private GF256() {
+    }
+
+    public static int add(int a, int b) {
+        return (a ^ b) & 0xFF;
+    }
+
+    public static int mul(int a, int b) {
+        return MUL[((a & 0xFF) << 8) | (b & 0xFF)] & 0xFF;
+    }
+
+    /**
+     * Multiplication without table lookups or data dependent branches.
+     *
+     * @param a The first factor.
+     * @param b The second factor.
+     * @return a * b
+     */
+    public static int mulConstantTime(int a, int b) {
+        return (int) (mulWide(a & 0xFF, b) & 0xFF);
+    }
+
+    public static int inverse(int a) {
+        if ((a & 0xFF) == 0) {
+            throw new ArithmeticException("Zero has no inverse in GF(256)");
+        }
+        return Utils.EXP[(255 - Utils.LOG[a & 0xFF]) % 255];
+    }
+
+    public static int div(int a, int b) {
+        return mul(a, inverse(b));
+    }
+
+    private static RowKernel loadVector() {
+        try {
+            // Compiled from src/main/java16 only when building on JDK 16+
+            Class<?> kernel = Class.forName("iton.slip.secret.util.GF256Vector");
+            return (RowKernel) kernel.getDeclaredConstructor().newInstance();
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    public static Mode getMode() {
+        return mode;
+    }
+
+    public static void setMode(Mode mode) {
+        GF256.mode = mode;
+    }
+
+    /**
+     * @return true if rows of at least VECTOR_THRESHOLD bytes are processed
+     * by the Vector API kernel.
+     */
+    public static boolean isVectorized() {
+        return VECTOR != null;
+    }
+
+    /**
+     * Multiplies a row of bytes by a constant and accumulates the result,
+     * dst[i] ^= c * src[i]. Rows of at least VECTOR_THRESHOLD bytes use the
+     * vector kernel when it is available, shorter rows the kernel of the
+     * current mode.
+     *
+     * @param dst The accumulator row.
+     * @param dst_offset Offset of the first byte in dst.
+     * @param src The row to multiply.
+     * @param src_offset Offset of the first byte in src.
+     * @param length Number of bytes to process.
+     * @param c The constant multiplier.
+     */
+    public static void mulAdd(byte[] dst, int dst_offset, byte[] src, int src_offset, int length, int c) {
+        if (VECTOR != null && length >= VECTOR_THRESHOLD) {
+            VECTOR.mulAdd(dst, dst_offset, src, src_offset, length, c);
+        } else if (mode == Mode.CONSTANT_TIME) {
+            mulAddConstantTime(dst, dst_offset, src, src_offset, length, c);
+        } else {
+            mulAddTable(dst, dst_offset, src, src_offset, length, c);
+        }
+    }
+
+    /**
+     * Constant time kernel, dst[i] ^= c * src[i]. Eight bytes are multiplied at
+     * once as the lanes of a long. Only the public constant selects the
+     * operations, the row bytes never reach a branch or an array index.
+     *
+     * @param dst The accumulator row.
+     * @param dst_offset Offset of the first byte in dst.
+     * @param src The row to multiply.
+     * @param src_offset Offset of the first byte in src.
+     * @param length Number of bytes to process.
+     * @param c The constant multiplier.
+     */
+    public static void mulAddConstantTime(byte[] dst, int dst_offset, byte[] src, int src_offset, int length, int c) {
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            long product = mulWide(load(src, src_offset + i, Long.BYTES), c);
+            store(dst, dst_offset + i, Long.BYTES, product);
+        }
+        if (i < length) {
+            long product = mulWide(load(src, src_offset + i, length - i), c);
+            store(dst, dst_offset + i, length - i, product);
+        }
+    }
+
+    /**
+     * Scalar table kernel, dst[i] ^= c * src[i].
+     *
+     * @param dst The accumulator row.
+     * @param dst_offset Offset of the first byte in dst.
+     * @param src The row to multiply.
+     * @param src_offset Offset of the first byte in src.
+     * @param length Number of bytes to process.
+     * @param c The constant multiplier.
+     */
+    public static void mulAddTable(byte[] dst, int dst_offset, byte[] src, int src_offset, int length, int c) {
+        c &= 0xFF;
+        if (c == 0) {
+            return;
+        }
+        if (c == 1) {
+            for (int i = 0; i < length; i++) {
+                dst[dst_offset + i] ^= src[src_offset + i];
+            }
+            return;
+        }
+        int row = c << 8;
+        for (int i = 0; i < length; i++) {
+            dst[dst_offset + i] ^= MUL[row | (src[src_offset + i] & 0xFF)];
+        }
+    }
+
+    /**
+     * Multiplies a row of bytes by a constant, dst[i] = c * src[i].
+     *
+     * @param dst The result row.
+     * @param dst_offset Offset of the first byte in dst.
+     * @param src The row to multiply.
+     * @param src_offset Offset of the first byte in src.
+     * @param length Number of bytes to process.
+     * @param c The constant multiplier.
+     */
+    public static void mul(byte[] dst, int dst_offset, byte[] src, int src_offset, int length, int c) {
+        Arrays.fill(dst, dst_offset, dst_offset + length, (byte) 0);
+        mulAdd(dst, dst_offset, src, src_offset, length, c);
+    }
+
+    // Multiplies the eight byte lanes of v by c
+    private static long mulWide(long v, int c) {
+        long result = 0;
+        for (int k = 0; k < Byte.SIZE; k++) {
+            result ^= v & -((c >>> k) & 1L);
+            // multiply every lane by x and reduce the lanes that overflowed
+            v = ((v & LOW_BITS) << 1) ^ (((v >>> 7) & LOW_BIT) * REDUCTION);
+        }
+        return result;
+    }
+
+    // Packs count bytes, little endian, into a long
+    private static long load(byte[] src, int offset, int count) {
+        long v = 0;
+        for (int k = count - 1; k >= 0; k--) {
+            v = (v << 8) | (src[offset + k] & 0xFF);
+        }
+        return v;
+    }
+
+    // XORs the count low bytes of v, little endian, into dst
+    private static void store(byte[] dst, int offset, int count, long v) {
+        for (int k = 0; k < count; k++) {
+            dst[offset + k] ^= (byte) (v >>> (8 * k));
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.util;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * PBKDF2-HMAC-SHA256 specialized for the Feistel rounds. The SHA-256 states
+ * after the inner and outer padded keys are computed once per password, and
+ * every iteration then runs exactly two compressions over fixed int[] buffers
+ * without allocating.
+ */
+public class Pbkdf2 {
+
+    public static final int DIGEST_LENGTH = 32; // bytes
+    private static final int BLOCK_LENGTH = 64; // bytes
+
+    private static final int[] K = new int[]{
+        0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5, 0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
+        0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3, 0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174,
+        0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc, 0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+        0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7, 0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967,
+        0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13, 0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85,
+        0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3, 0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+        0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5, 0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+        0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208, 0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2
+    };
+
+    private static final int[] IV = new int[]{
+        0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a, 0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19
+    };
+
+    private final int[] inner = new int[8]; // state after the ipad block
+    private final int[] outer = new int[8]; // state after the opad block
+
+    /**
+     * Precomputes the HMAC key states for a password.
+     *
+     * @param password The PBKDF2 password, the HMAC key.
+     */
+    public Pbkdf2(byte[] password) {
+        byte[] key = new byte[BLOCK_LENGTH];
+        if (password.length > BLOCK_LENGTH) {
+            int[] state = IV.clone();
+            hash(state, 0, password, password.length, new int[64]);
+            toBytes(state, key, 0, DIGEST_LENGTH);
+            Arrays.fill(state, 0);
+        } else {
+            System.arraycopy(password, 0, key, 0, password.length);
+        }
+
+        int[] w = new int[64];
+        System.arraycopy(IV, 0, inner, 0, IV.length);
+        System.arraycopy(IV, 0, outer, 0, IV.length);
+        for (int i = 0; i < 16; i++) {
+            w[i] = word(key, 4 * i) ^ 0x36363636;
+        }
+        compress(inner, w);
+        for (int i = 0; i < 16; i++) {
+            w[i] = word(key, 4 * i) ^ 0x5c5c5c5c;
+        }
+        compress(outer, w);
+        Arrays.fill(key, (byte) 0);
+        Arrays.fill(w, 0);
+    }
+
+    /**
+     * Zeroes the precomputed HMAC key states, the instance can not derive
+     * keys afterwards.
+     */
+    public void wipe() {
+        Arrays.fill(inner, 0);
+        Arrays.fill(outer, 0);
+    }
+
+    /**
+     * Derives a key, PBKDF2(password, salt, iterations, length).
+     *
+     * @param salt The salt.
+     * @param iterations The iteration count.
+     * @param length The key length in bytes.
+     * @return The derived key.
+     */
+    public byte[] derive(byte[] salt, int iterations, int length) {
+        byte[] key = new byte[length];
+        derive(salt, iterations, key, 0, length);
+        return key;
+    }
+
+    /**
+     * Derives a key into a caller provided buffer.
+     *
+     * @param salt The salt.
+     * @param iterations The iteration count.
+     * @param out Receives the derived key.
+     * @param offset Offset of the key in out.
+     * @param length The key length in bytes.
+     */
+    public void derive(byte[] salt, int iterations, byte[] out, int offset, int length) {
+        int blocks = (length + DIGEST_LENGTH - 1) / DIGEST_LENGTH;
+        for (int i = 1; i <= blocks; i++) {
+            int position = (i - 1) * DIGEST_LENGTH;
+            block(salt, iterations, i, out, offset + position, Math.min(DIGEST_LENGTH, length - position));
+        }
+    }
+
+    /**
+     * Derives a key into a caller provided buffer. The output blocks are
+     * independent, when the key spans more than one digest they are computed
+     * in parallel on the executor.
+     *
+     * @param salt The salt.
+     * @param iterations The iteration count.
+     * @param out Receives the derived key.
+     * @param offset Offset of the key in out.
+     * @param length The key length in bytes.
+     * @param executor Executor running the blocks.
+     */
+    public void derive(byte[] salt, int iterations, byte[] out, int offset, int length, Executor executor) {
+        int blocks = (length + DIGEST_LENGTH - 1) / DIGEST_LENGTH;
+        if (blocks < 2) {
+            derive(salt, iterations, out, offset, length);
+            return;
+        }
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[blocks];
+        for (int i = 1; i <= blocks; i++) {
+            int index = i;
+            int position = (i - 1) * DIGEST_LENGTH;
+            futures[i - 1] = CompletableFuture.runAsync(() -> block(salt, iterations, index, out, offset + position,
+                    Math.min(DIGEST_LENGTH, length - position)), executor);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    /**
+     * Computes one PBKDF2 output block, T_i = U_1 ^ ... ^ U_c.
+     *
+     * @param salt The salt.
+     * @param iterations The iteration count.
+     * @param index The block index, starting at 1.
+     * @param out Receives the first count bytes of the block.
+     * @param offset Offset in out.
+     * @param count Number of bytes to write, at most DIGEST_LENGTH.
+     */
+    public void block(byte[] salt, int iterations, int index, byte[] out, int offset, int count) {
+        int[] w = new int[64];
+        int[] state = new int[8];
+        int[] u = new int[8];
+        int[] t = new int[8];
+
+        // U_1 = HMAC(password, salt || INT(index))
+        byte[] message = new byte[salt.length + 4];
+        System.arraycopy(salt, 0, message, 0, salt.length);
+        message[salt.length] = (byte) (index >>> 24);
+        message[salt.length + 1] = (byte) (index >>> 16);
+        message[salt.length + 2] = (byte) (index >>> 8);
+        message[salt.length + 3] = (byte) index;
+        System.arraycopy(inner, 0, state, 0, 8);
+        hash(state, BLOCK_LENGTH, message, message.length, w);
+        System.arraycopy(state, 0, u, 0, 8);
+        // From here on both hashes of each HMAC are single blocks of a 32 byte
+        // message after the key block, w[8..15] hold their fixed padding
+        pad(w);
+        hmacOuter(u, state, w);
+        System.arraycopy(u, 0, t, 0, 8);
+
+        // U_j = HMAC(password, U_j-1)
+        for (int j = 1; j < iterations; j++) {
+            System.arraycopy(inner, 0, state, 0, 8);
+            System.arraycopy(u, 0, w, 0, 8);
+            compress(state, w);
+            System.arraycopy(state, 0, u, 0, 8);
+            hmacOuter(u, state, w);
+            for (int k = 0; k < 8; k++) {
+                t[k] ^= u[k];
+            }
+        }
+        toBytes(t, out, offset, count);
+        // the block and the chain values are key material
+        Arrays.fill(message, (byte) 0);
+        Arrays.fill(w, 0);
+        Arrays.fill(state, 0);
+        Arrays.fill(u, 0);
+        Arrays.fill(t, 0);
+    }
+
+    // u = H(opad key || u) where u holds the inner hash, w is already padded
+    private void hmacOuter(int[] u, int[] state, int[] w) {
+        System.arraycopy(outer, 0, state, 0, 8);
+        System.arraycopy(u, 0, w, 0, 8);
+        compress(state, w);
+        System.arraycopy(state, 0, u, 0, 8);
+    }
+
+    // Padding of a 32 byte message following one 64 byte key block
+    private static void pad(int[] w) {
+        w[8] = 0x80000000;
+        w[9] = w[10] = w[11] = w[12] = w[13] = w[14] = 0;
+        w[15] = (BLOCK_LENGTH + DIGEST_LENGTH) * Byte.SIZE;
+    }
+
+    // Hashes a message with SHA-256 padding, prefix counts the bytes already compressed into state
+    private static void hash(int[] state, int prefix, byte[] message, int length, int[] w) {
+        int padded = ((length + 8) / BLOCK_LENGTH + 1) * BLOCK_LENGTH;
+        byte[] data = new byte[padded];
+        System.arraycopy(message, 0, data, 0, length);
+        data[length] = (byte) 0x80;
+        long bits = (long) (prefix + length) * Byte.SIZE;
+        for (int i = 0; i < 8; i++) {
+            data[padded - 1 - i] = (byte) (bits >>> (8 * i));
+        }
+        for (int block = 0; block < padded; block += BLOCK_LENGTH) {
+            for (int i = 0; i < 16; i++) {
+                w[i] = word(data, block + 4 * i);
+            }
+            compress(state, w);
+        }
+        Arrays.fill(data, (byte) 0);
+    }
+
+    private static void compress(int[] state, int[] w) {
+        for (int i = 16; i < 64; i++) {
+            int s0 = Integer.rotateRight(w[i - 15], 7) ^ Integer.rotateRight(w[i - 15], 18) ^ (w[i - 15] >>> 3);
+            int s1 = Integer.rotateRight(w[i - 2], 17) ^ Integer.rotateRight(w[i - 2], 19) ^ (w[i - 2] >>> 10);
+            w[i] = w[i - 16] + s0 + w[i - 7] + s1;
+        }
+
+        int a = state[0];
+        int b = state[1];
+        int c = state[2];
+        int d = state[3];
+        int e = state[4];
+        int f = state[5];
+        int g = state[6];
+        int h = state[7];
+
+        for (int i = 0; i < 64; i++) {
+            int t1 = h + (Integer.rotateRight(e, 6) ^ Integer.rotateRight(e, 11) ^ Integer.rotateRight(e, 25))
+                    + ((e & f) ^ (~e & g)) + K[i] + w[i];
+            int t2 = (Integer.rotateRight(a, 2) ^ Integer.rotateRight(a, 13) ^ Integer.rotateRight(a, 22))
+                    + ((a & b) ^ (a & c) ^ (b & c));
+            h = g;
+            g = f;
+            f = e;
+            e = d + t1;
+            d = c;
+            c = b;
+            b = a;
+            a = t1 + t2;
+        }
+
+        state[0] += a;
+        state[1] += b;
+        state[2] += c;
+        state[3] += d;
+        state[4] += e;
+        state[5] += f;
+        state[6] += g;
+        state[7] += h;
+    }
+
+    private static int word(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24)
+                | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8)
+                | (data[offset + 3] & 0xFF);
+    }
+
+    private static void toBytes(int[] state, byte[] out, int offset, int count) {
+        for (int i = 0; i < count; i++) {
+            out[offset + i] = (byte) (state[i >>> 2] >>> (24 - 8 * (i & 3)));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.util;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * Secret bytes kept outside the garbage collected heap, in a direct buffer
+ * that is zeroed on close. Access and close are mutually exclusive, so a
+ * buffer closed by one thread is never read half zeroed by another.
+ *
+ * The SecretBuffer overloads of Crypto run the Feistel rounds in place on a
+ * direct copy, so the whole plain master secret never reaches the heap: only
+ * the round input, one half of the secret, and the round output do, and both
+ * are wiped after the rounds. The share values, the interpolation and the
+ * mnemonic codec work on heap arrays, which is why the SharedSecret overloads
+ * hold the encrypted master secret on the heap, wiped before returning.
+ * Callers of toByteArray have to wipe the copy themselves.
+ */
+public final class SecretBuffer implements AutoCloseable {
+
+    private final ByteBuffer buffer;
+    private volatile boolean closed;
+
+    /**
+     * @param length: The number of bytes, initially zero.
+     */
+    public SecretBuffer(int length) {
+        buffer = ByteBuffer.allocateDirect(length);
+    }
+
+    /**
+     * Copies bytes into a new buffer.
+     *
+     * @param bytes: The bytes, left as they are.
+     * @return The buffer.
+     */
+    public static SecretBuffer copyOf(byte[] bytes) {
+        SecretBuffer result = new SecretBuffer(bytes.length);
+        result.write(0, bytes, 0, bytes.length);
+        return result;
+    }
+
+    /**
+     * Moves bytes into a new buffer, wiping the array.
+     *
+     * @param bytes: The bytes, zeroed on return.
+     * @return The buffer.
+     */
+    public static SecretBuffer take(byte[] bytes) {
+        try {
+            return copyOf(bytes);
+        } finally {
+            wipe(bytes);
+        }
+    }
+
+    /**
+     * Copies the bytes into a new buffer without going through the heap.
+     *
+     * @return The copy, to be closed by the caller.
+     */
+    public synchronized SecretBuffer copy() {
+        check();
+        SecretBuffer result = new SecretBuffer(length());
+        ByteBuffer view = buffer.duplicate();
+        view.clear();
+        result.buffer.put(view);
+        result.buffer.clear();
+        return result;
+    }
+
+    public int length() {
+        return buffer.capacity();
+    }
+
+    public synchronized byte get(int index) {
+        check();
+        return buffer.get(index);
+    }
+
+    public synchronized void put(int index, byte value) {
+        check();
+        buffer.put(index, value);
+    }
+
+    /**
+     * Copies length bytes starting at offset into dst.
+     */
+    public synchronized void read(int offset, byte[] dst, int dst_offset, int length) {
+        check();
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(dst, dst_offset, length);
+    }
+
+    /**
+     * Copies length bytes of src into the buffer starting at offset.
+     */
+    public synchronized void write(int offset, byte[] src, int src_offset, int length) {
+        check();
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.put(src, src_offset, length);
+    }
+
+    /**
+     * @return A heap copy of the bytes, to be wiped by the caller.
+     */
+    public synchronized byte[] toByteArray() {
+        byte[] result = new byte[length()];
+        read(0, result, 0, result.length);
+        return result;
+    }
+
+    // the bytes for work in place, only on a buffer no other thread can see yet
+    ByteBuffer buffer() {
+        check();
+        return buffer;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Zeroes the bytes. Further access fails.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            for (int i = 0; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            closed = true;
+        }
+    }
+
+    /**
+     * Zeroes heap arrays holding secret bytes, null arrays are skipped.
+     *
+     * @param arrays: The arrays.
+     */
+    public static void wipe(byte[]... arrays) {
+        for (byte[] array : arrays) {
+            if (array != null) {
+                Arrays.fill(array, (byte) 0);
+            }
+        }
+    }
+
+    private void check() {
+        if (closed) {
+            throw new IllegalStateException("Secret buffer is closed");
+        }
+    }
+}
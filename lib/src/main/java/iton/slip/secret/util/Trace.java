@@ -0,0 +1,75 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.util;
+
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * Trace events of the codec and interpolation paths, logged at TRACE level
+ * to the iton.slip.secret.trace logger. Call sites are guarded by
+ *
+ * if (Trace.ENABLED) { Trace.event(...); }
+ *
+ * ENABLED is a compile time constant, so while it is false javac drops the
+ * guarded code and nothing is formatted or boxed. Set it to true to build a
+ * traceable library.
+ */
+public final class Trace {
+
+    public static final boolean ENABLED = false;
+
+    private static final Logger LOG = LoggerFactory.getLogger("iton.slip.secret.trace");
+
+    private Trace() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED && LOG.isTraceEnabled();
+    }
+
+    /**
+     * @param format: SLF4J message pattern, formatted only if traced.
+     * @param args: The pattern arguments.
+     */
+    public static void event(String format, Object... args) {
+        if (isEnabled()) {
+            LOG.trace(format, args);
+        }
+    }
+
+    /**
+     * @param message: Supplies the message, called only if traced.
+     */
+    public static void event(Supplier<String> message) {
+        if (isEnabled()) {
+            LOG.trace(message.get());
+        }
+    }
+}
@@ -0,0 +1,467 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret.words;
+
+import static iton.slip.secret.Common.CHECKSUM_LENGTH_WORDS;
+import static iton.slip.secret.Common.ID_EXP_LENGTH_WORDS;
+import static iton.slip.secret.Common.ITERATION_EXP_LENGTH_BITS;
+import static iton.slip.secret.Common.METADATA_LENGTH_WORDS;
+import static iton.slip.secret.Common.MNEMONIC_WORDS_MAX;
+import static iton.slip.secret.Common.RADIX;
+import static iton.slip.secret.Common.RADIX_BITS;
+import iton.slip.secret.Share;
+import iton.slip.secret.SharedSecretException;
+import iton.slip.secret.metrics.Metrics;
+import iton.slip.secret.util.Checksum;
+import iton.slip.secret.util.Trace;
+import iton.slip.secret.util.Utils;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class Mnemonic {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Mnemonic.class);
+
+    public static final Mnemonic INSTANCE = new Mnemonic();
+    public static final int WORD_COUNT = 1024;
+    private static final int RADIX_MASK = RADIX - 1;
+    private static final char UNKNOWN = '?'; // marks a lost word in complete
+    private static final int PREFIX_LENGTH = 4; // words are unique by their first four letters
+    private static final int LETTER_BITS = 5;
+    private static final int BUCKET_BITS = 2 * LETTER_BITS;
+
+    // Packed four letter prefixes in word list order, the list is sorted so
+    // the keys are too. START holds the first key of each two letter bucket.
+    private final int[] KEYS = new int[WORD_COUNT];
+    private final short[] START = new short[(1 << BUCKET_BITS) + 1];
+
+    private Mnemonic() {
+        int bucket = 0;
+        for (short i = 0; i < WORD_COUNT; i++) {
+            String word = Words.INSTANCE.getWord(i);
+            KEYS[i] = key(word, 0, word.length());
+            if (i > 0 && KEYS[i] <= KEYS[i - 1]) {
+                throw new IllegalStateException(String.format("Word list is not sorted by prefix at %s", word));
+            }
+            while (bucket <= KEYS[i] >> BUCKET_BITS) {
+                START[bucket++] = i;
+            }
+        }
+        while (bucket < START.length) {
+            START[bucket++] = WORD_COUNT;
+        }
+    }
+
+    // packs the first four letters, lower case, in 5 bits each; -1 if too short or not letters
+    private static int key(CharSequence chars, int start, int end) {
+        if (end - start < PREFIX_LENGTH) {
+            return -1;
+        }
+        int key = 0;
+        for (int i = start; i < start + PREFIX_LENGTH; i++) {
+            int letter = (chars.charAt(i) | 0x20) - 'a';
+            if (letter < 0 || letter >= 26) {
+                return -1;
+            }
+            key = (key << LETTER_BITS) | (letter + 1);
+        }
+        return key;
+    }
+
+    /**
+     * Looks up a word of the word list, ignoring ASCII case. Words are unique
+     * by their first four letters, so any prefix of a word at least four
+     * letters long selects it; the full word is the longest such prefix.
+     *
+     * @param chars: Characters holding the word or its prefix.
+     * @param start: Index of the first character.
+     * @param end: Index after the last character.
+     * @return The word index or -1 if the characters are not a prefix of a
+     * word of the list.
+     */
+    public int getIndex(CharSequence chars, int start, int end) {
+        int key = key(chars, start, end);
+        if (key < 0) {
+            return -1;
+        }
+        int bucket = key >> BUCKET_BITS;
+        int index = Arrays.binarySearch(KEYS, START[bucket], START[bucket + 1], key);
+        if (index < 0) {
+            return -1;
+        }
+        String word = Words.INSTANCE.getWord(index);
+        if (end - start > word.length()) {
+            return -1;
+        }
+        for (int i = PREFIX_LENGTH; i < end - start; i++) {
+            if ((chars.charAt(start + i) | 0x20) != word.charAt(i)) {
+                return -1;
+            }
+        }
+        return index;
+    }
+
+    public String indicesToMnemonic(short[] indices) {
+
+        Words words = Words.INSTANCE;
+        StringBuilder builder = new StringBuilder();
+        int index = 0;
+
+        for (int indice : indices) {
+            if (++index < indices.length) {
+                builder.append(words.getWord(indice)).append(" ");
+            } else {
+                builder.append(words.getWord(indice));
+            }
+        }
+        return builder.toString();
+    }
+
+    public short[] indicesFromMnemonic(String mnemonic) throws SharedSecretException {
+        short[] indices = new short[mnemonic.length() / (PREFIX_LENGTH + 1) + 1];
+        return Arrays.copyOf(indices, tokenize(mnemonic, indices));
+    }
+
+    /**
+     * Splits a mnemonic on whitespace and looks up each word, ignoring ASCII
+     * case. Words beyond the capacity of indices are counted but not looked
+     * up, so the caller can reject the length.
+     *
+     * @param mnemonic: The mnemonic.
+     * @param indices: Receives the word indices.
+     * @return The number of words.
+     * @throws SharedSecretException if a word is not in the word list.
+     */
+    public int tokenize(CharSequence mnemonic, short[] indices) throws SharedSecretException {
+        long start = Metrics.start();
+        int count = tokenize(mnemonic, indices, null);
+        Metrics.stop(Metrics.MNEMONIC_TOKENIZE, start);
+        return count;
+    }
+
+    // as tokenize, recording the positions of UNKNOWN words in unknown if not null
+    private int tokenize(CharSequence mnemonic, short[] indices, List<Integer> unknown) throws SharedSecretException {
+        int count = 0;
+        int length = mnemonic.length();
+        int start = 0;
+        while (start < length) {
+            if (mnemonic.charAt(start) <= ' ') {
+                start++;
+                continue;
+            }
+            int end = start + 1;
+            while (end < length && mnemonic.charAt(end) > ' ') {
+                end++;
+            }
+            if (unknown != null && end - start == 1 && mnemonic.charAt(start) == UNKNOWN) {
+                unknown.add(count);
+            } else if (count < indices.length) {
+                int index = getIndex(mnemonic, start, end);
+                if (index < 0) {
+                    throw new SharedSecretException(String.format("Invalid mnemonic word %s", mnemonic.subSequence(start, end)));
+                }
+                indices[count] = (short) index;
+            }
+            count++;
+            start = end;
+        }
+        return count;
+    }
+
+    public Share decode(String mnemonic) throws SharedSecretException {
+        short[] indices = new short[MNEMONIC_WORDS_MAX];
+        int count = tokenize(mnemonic, indices);
+        if (count > indices.length) {
+            throw new SharedSecretException(String.format("Mnemonic length is not legal. (length:%d)", count));
+        }
+        return decode(indices, count);
+    }
+
+    /**
+     * Repairs a mnemonic with a single wrong word. Every word must be in the
+     * word list; the checksum locates and corrects the wrong one.
+     *
+     * @param mnemonic: The mnemonic.
+     * @return The mnemonics differing from the input in at most one word that
+     * decode to a valid share, the input itself if it is valid.
+     * @throws SharedSecretException
+     */
+    public List<String> correct(CharSequence mnemonic) throws SharedSecretException {
+        short[] indices = new short[MNEMONIC_WORDS_MAX];
+        int count = tokenize(mnemonic, indices);
+        if (count < METADATA_LENGTH_WORDS || count > indices.length) {
+            throw new SharedSecretException(String.format("Mnemonic length is not legal. (length:%d)", count));
+        }
+        List<String> result = new ArrayList<>();
+        for (short[] candidate : Checksum.correct(indices, 0, count)) {
+            try {
+                decode(candidate, candidate.length);
+                result.add(indicesToMnemonic(candidate));
+            } catch (SharedSecretException e) {
+                LOG.debug("Rejected correction: {}", e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Completes a mnemonic with up to two lost words, each written as "?".
+     * The checksum is solved for the lost words, see Checksum.complete.
+     *
+     * @param mnemonic: The mnemonic.
+     * @return The completed mnemonics that decode to a valid share.
+     * @throws SharedSecretException
+     */
+    public List<String> complete(CharSequence mnemonic) throws SharedSecretException {
+        short[] indices = new short[MNEMONIC_WORDS_MAX];
+        List<Integer> unknown = new ArrayList<>();
+        int count = tokenize(mnemonic, indices, unknown);
+        if (count < METADATA_LENGTH_WORDS || count > indices.length) {
+            throw new SharedSecretException(String.format("Mnemonic length is not legal. (length:%d)", count));
+        }
+        if (unknown.size() > 2) {
+            throw new SharedSecretException(String.format("Too many unknown words (%d)", unknown.size()));
+        }
+        int[] positions = new int[unknown.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = unknown.get(i);
+        }
+        List<String> result = new ArrayList<>();
+        for (short[] candidate : Checksum.complete(indices, 0, count, positions)) {
+            try {
+                decode(candidate, candidate.length);
+                result.add(indicesToMnemonic(candidate));
+            } catch (SharedSecretException e) {
+                LOG.debug("Rejected completion: {}", e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Decodes a share from word indices.
+     *
+     * @param indices: The word indices.
+     * @param count: The number of words.
+     * @return The share.
+     * @throws SharedSecretException
+     */
+    public Share decode(short[] indices, int count) throws SharedSecretException {
+        long start = Metrics.start();
+        if (count < METADATA_LENGTH_WORDS) {
+            throw new SharedSecretException(String.format("Mnemonic length is not legal. (length:%d)", count));
+        }
+
+        int padding = (RADIX_BITS * (count - METADATA_LENGTH_WORDS)) % 0x10;
+        if (padding > Byte.SIZE) {
+            throw new SharedSecretException("Incorrect mnmemonic length");
+        }
+
+        if (!Checksum.verify(indices, 0, count)) {
+            Metrics.increment(Metrics.CHECKSUM_FAILURE);
+            throw new SharedSecretException("Invalid checksum");
+        }
+
+        Share share = new Share();
+        int id_exp = (indices[0] << RADIX_BITS) | indices[1];
+        int metadata = (indices[ID_EXP_LENGTH_WORDS] << RADIX_BITS) | indices[ID_EXP_LENGTH_WORDS + 1];
+
+        share.id = id_exp >> ITERATION_EXP_LENGTH_BITS;
+        share.iteration_exponent = id_exp & 0x1F;
+        share.group_index = metadata >> 16;
+        share.group_threshold = (metadata >> 12 & 0x0F) + 1;
+        share.group_count = (metadata >> 8 & 0x0F) + 1;
+        share.member_index = metadata >> 4 & 0x0F;
+        share.member_threshold = (metadata & 0x0F) + 1;
+
+        if (Trace.ENABLED) {
+            Trace.event("decode: iteration exponent={} group={}/{}/{} member={}/{}",
+                    share.iteration_exponent,
+                    share.group_index,
+                    share.group_threshold,
+                    share.group_count,
+                    share.member_index,
+                    share.member_threshold);
+        }
+
+        if (share.group_index > share.group_count - 1) {
+            throw new SharedSecretException(String.format("Invalid group index (%d), group count is %d",
+                    share.group_index,
+                    share.group_count));
+        }
+
+        if (share.group_count < share.group_threshold) {
+            throw new SharedSecretException(String.format("Invalid group threshold %d, cannot be greater than group count %d",
+                    share.group_threshold,
+                    share.group_count));
+        }
+
+        int from = ID_EXP_LENGTH_WORDS + 2;
+        int to = count - CHECKSUM_LENGTH_WORDS;
+        share.value = new byte[Utils.bitsToBytes(RADIX_BITS * (to - from) - padding)];
+        unpack(indices, from, to, share.value);
+        Metrics.stop(Metrics.MNEMONIC_DECODE, start);
+        return share;
+    }
+
+    public String encode(Share share) {
+        return encode(share.id,
+                share.iteration_exponent,
+                share.group_index,
+                share.group_threshold,
+                share.group_count,
+                share.member_index,
+                share.member_threshold,
+                share.value);
+    }
+
+    public String encode(int id,
+            int iteration_exponent,
+            int group_index,
+            int group_threshold,
+            int group_count,
+            int member_index,
+            int member_threshold,
+            byte[] value) {
+        return encode(id, iteration_exponent, group_index, group_threshold, group_count, member_index, member_threshold, value, 0, value.length);
+    }
+
+    /**
+     * Encodes a share whose value is a range of an array, such as a row of a
+     * ShareSet arena, without copying the value.
+     *
+     * @param value: Array holding the share value.
+     * @param offset: Offset of the share value.
+     * @param length: Length of the share value in bytes.
+     * @return The mnemonic.
+     */
+    public String encode(int id,
+            int iteration_exponent,
+            int group_index,
+            int group_threshold,
+            int group_count,
+            int member_index,
+            int member_threshold,
+            byte[] value,
+            int offset,
+            int length) {
+
+        long start = Metrics.start();
+        // Convert the share value from bytes to wordlist indices.
+        int value_words = Utils.bitsToWords(length * Byte.SIZE);
+        short[] data = new short[ID_EXP_LENGTH_WORDS + 2 + value_words + CHECKSUM_LENGTH_WORDS];
+
+        int id_exp = (id << ITERATION_EXP_LENGTH_BITS) + iteration_exponent;
+        int metadata = (group_index << 16)
+                + ((group_threshold - 1) << 12)
+                + ((group_count - 1) << 8)
+                + (member_index << 4)
+                + (member_threshold - 1);
+
+        data[0] = (short) (id_exp >> RADIX_BITS);
+        data[1] = (short) (id_exp & RADIX_MASK);
+        data[ID_EXP_LENGTH_WORDS] = (short) (metadata >> RADIX_BITS);
+        data[ID_EXP_LENGTH_WORDS + 1] = (short) (metadata & RADIX_MASK);
+        pack(value, offset, length, data, ID_EXP_LENGTH_WORDS + 2, value_words);
+
+        Checksum.create(data, 0, data.length - CHECKSUM_LENGTH_WORDS);
+        String mnemonic = indicesToMnemonic(data);
+        Metrics.stop(Metrics.MNEMONIC_ENCODE, start);
+        return mnemonic;
+    }
+
+    /**
+     * Packs a big endian byte value into 10 bit word indices, left padded with
+     * zero bits to a whole number of words.
+     *
+     * @param value: The value to pack.
+     * @param indices: Receives the word indices.
+     * @param offset: Index of the first word.
+     * @param words: Number of words to write.
+     */
+    static void pack(byte[] value, short[] indices, int offset, int words) {
+        pack(value, 0, value.length, indices, offset, words);
+    }
+
+    static void pack(byte[] value, int from, int length, short[] indices, int offset, int words) {
+        long accumulator = 0;
+        int bits = RADIX_BITS * words - Byte.SIZE * length; // leading padding bits
+        int position = offset;
+        for (int i = from; i < from + length; i++) {
+            accumulator = (accumulator << Byte.SIZE) | (value[i] & 0xFF);
+            bits += Byte.SIZE;
+            while (bits >= RADIX_BITS) {
+                bits -= RADIX_BITS;
+                indices[position++] = (short) ((accumulator >>> bits) & RADIX_MASK);
+            }
+        }
+    }
+
+    /**
+     * Unpacks 10 bit word indices into a big endian byte value. The padding
+     * bits in front of the value must be zero.
+     *
+     * @param indices: The word indices.
+     * @param from: Index of the first word.
+     * @param to: Index after the last word.
+     * @param value: Receives the value.
+     * @throws SharedSecretException
+     */
+    static void unpack(short[] indices, int from, int to, byte[] value) throws SharedSecretException {
+        long accumulator = 0;
+        int bits = 0;
+        int padding = RADIX_BITS * (to - from) - Byte.SIZE * value.length;
+        if (padding < 0) {
+            // value longer than the words, it starts with zero bits
+            bits = -padding;
+            padding = 0;
+        }
+        int position = 0;
+        for (int i = from; i < to; i++) {
+            accumulator = (accumulator << RADIX_BITS) | indices[i];
+            bits += RADIX_BITS;
+            if (padding > 0 && bits >= padding) {
+                bits -= padding;
+                if ((accumulator >>> bits) != 0) {
+                    throw new SharedSecretException(String.format("Possibly invalid padding. Max byte legth %d", value.length));
+                }
+                padding = 0;
+            }
+            if (padding == 0) {
+                while (bits >= Byte.SIZE) {
+                    bits -= Byte.SIZE;
+                    value[position++] = (byte) (accumulator >>> bits);
+                }
+                accumulator &= (1L << bits) - 1;
+            }
+        }
+    }
+}
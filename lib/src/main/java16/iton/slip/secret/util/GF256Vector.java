@@ -0,0 +1,83 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package iton.slip.secret.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ *
+ * @author ITON Solutions
+ *
+ * GF(256) multiply-accumulate over whole rows using the JDK Vector API. The
+ * product c * v is split by nibbles, c * (v & 0x0F) ^ c * (v & 0xF0), and each
+ * half is looked up in a 16 entry table with a lane shuffle.
+ */
+final class GF256Vector implements GF256.RowKernel {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_128;
+
+    // LOW[16 * c + n] = c * n, HIGH[16 * c + n] = c * (n << 4)
+    private static final byte[] LOW = new byte[GF256.ORDER * 16];
+    private static final byte[] HIGH = new byte[GF256.ORDER * 16];
+
+    static {
+        for (int c = 0; c < GF256.ORDER; c++) {
+            for (int n = 0; n < 16; n++) {
+                LOW[16 * c + n] = (byte) GF256.mul(c, n);
+                HIGH[16 * c + n] = (byte) GF256.mul(c, n << 4);
+            }
+        }
+    }
+
+    GF256Vector() {
+        // Fails here rather than on first use when the module is not resolved
+        ByteVector.zero(SPECIES);
+    }
+
+    @Override
+    public void mulAdd(byte[] dst, int dst_offset, byte[] src, int src_offset, int length, int c) {
+        c &= 0xFF;
+        if (c == 0) {
+            return;
+        }
+
+        ByteVector low_table = ByteVector.fromArray(SPECIES, LOW, 16 * c);
+        ByteVector high_table = ByteVector.fromArray(SPECIES, HIGH, 16 * c);
+
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            ByteVector v = ByteVector.fromArray(SPECIES, src, src_offset + i);
+            ByteVector product = v.and((byte) 0x0F).selectFrom(low_table)
+                    .lanewise(VectorOperators.XOR, v.lanewise(VectorOperators.LSHR, 4).selectFrom(high_table));
+            ByteVector.fromArray(SPECIES, dst, dst_offset + i)
+                    .lanewise(VectorOperators.XOR, product)
+                    .intoArray(dst, dst_offset + i);
+        }
+        GF256.mulAdd(dst, dst_offset + i, src, src_offset + i, length - i, c);
+    }
+}
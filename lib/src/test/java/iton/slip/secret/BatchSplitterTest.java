@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret;
+
+import iton.slip.secret.util.Utils;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class BatchSplitterTest {
+    
+    public BatchSplitterTest() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+    
+    @Test
+    public void testSplit() throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        String passphrase = "alcatraz";
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 3));
+        groups.add(new Group(1, 1));
+        
+        byte[][] secrets = new byte[20][];
+        for (int i = 0; i < secrets.length; i++) {
+            secrets[i] = new byte[i % 2 == 0 ? 16 : 32];
+            Utils.randomBytes(secrets[i]);
+        }
+        
+        BatchSplitter splitter = new BatchSplitter(passphrase, (byte) 2, groups, (byte) 0);
+        BatchSplitter.Result result = splitter.split(secrets);
+        assertEquals(secrets.length, result.count());
+        assertTrue(result.throughput() > 0);
+        
+        SharedSecret shared = new SharedSecret();
+        for (int i = 0; i < secrets.length; i++) {
+            List<String> mnemonics = result.mnemonics().get(i);
+            assertEquals(4, mnemonics.size());
+            byte[] master = shared.combine(new String[]{mnemonics.get(1), mnemonics.get(2), mnemonics.get(3)}, passphrase);
+            assertArrayEquals(secrets[i], master);
+        }
+    }
+    
+    @Test(expected = SharedSecretException.class)
+    public void testInvalidSecret() throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 3));
+        
+        BatchSplitter splitter = new BatchSplitter("", (byte) 1, groups, (byte) 0);
+        splitter.split(new byte[][]{new byte[16], new byte[15]});
+    }
+    
+    @Test(expected = SharedSecretException.class)
+    public void testInvalidLayout() throws SharedSecretException {
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(3, 2));
+        new BatchSplitter("", (byte) 1, groups, (byte) 0);
+    }
+}
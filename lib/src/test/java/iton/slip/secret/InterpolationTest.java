@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret;
+
+import static iton.slip.secret.Common.DIGEST_INDEX;
+import static iton.slip.secret.Common.SECRET_INDEX;
+import iton.slip.secret.util.Utils;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class InterpolationTest {
+    
+    public InterpolationTest() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * The context overload returns the same values as the allocating one.
+     * @throws iton.slip.secret.SharedSecretException
+     */
+    @Test
+    public void testInterpolate() throws SharedSecretException {
+        ShareSet shares = shares(5, 32);
+        SharedSecret secret = new SharedSecret();
+        Interpolation context = new Interpolation();
+        byte[] result = new byte[40];
+        
+        for (int x : new int[]{SECRET_INDEX, DIGEST_INDEX, SECRET_INDEX, 2, 7}) {
+            secret.interpolate(shares, x, result, 8, context);
+            byte[] expected = secret.interpolate(shares, x);
+            byte[] actual = new byte[32];
+            System.arraycopy(result, 8, actual, 0, actual.length);
+            assertArrayEquals(expected, actual);
+        }
+    }
+    
+    /**
+     * The context overload does not allocate in steady state.
+     * @throws iton.slip.secret.SharedSecretException
+     */
+    @Test
+    public void testAllocation() throws SharedSecretException {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        long id = Thread.currentThread().getId();
+        
+        ShareSet shares = shares(5, 32);
+        SharedSecret secret = new SharedSecret();
+        Interpolation context = new Interpolation();
+        byte[] result = new byte[32];
+        int count = 100000;
+        
+        for (int i = 0; i < count; i++) {
+            secret.interpolate(shares, SECRET_INDEX, result, 0, context);
+        }
+        long start = threads.getThreadAllocatedBytes(id);
+        for (int i = 0; i < count; i++) {
+            secret.interpolate(shares, SECRET_INDEX, result, 0, context);
+        }
+        long allocated = threads.getThreadAllocatedBytes(id) - start;
+        // allow for the bytes allocated by the measurement itself
+        assertTrue(String.format("%d bytes allocated", allocated), allocated < 1024);
+    }
+    
+    private ShareSet shares(int count, int length) throws SharedSecretException {
+        ShareSet shares = new ShareSet(count, length);
+        for (int i = 0; i < count; i++) {
+            byte[] value = new byte[length];
+            Utils.randomBytes(value);
+            shares.add(i, value);
+        }
+        return shares;
+    }
+}
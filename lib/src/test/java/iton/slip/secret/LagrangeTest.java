@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret;
+
+import iton.slip.secret.util.GF256;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class LagrangeTest {
+    
+    public LagrangeTest() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+        Lagrange.clear();
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * The basis polynomials interpolate the constant 1 and the cached vector
+     * is reused for the same x coordinate set.
+     * @throws iton.slip.secret.SharedSecretException
+     */
+    @Test
+    public void testCoefficients() throws SharedSecretException {
+        ShareSet shares = new ShareSet(5, 1);
+        for (int x : new int[]{4, 0, 2, 1, 3}) {
+            shares.add(x);
+        }
+        
+        byte[] basis = Lagrange.coefficients(shares, Common.SECRET_INDEX);
+        assertArrayEquals(Lagrange.compute(shares, Common.SECRET_INDEX), basis);
+        int sum = 0;
+        for (byte coefficient : basis) {
+            sum ^= coefficient & 0xFF;
+        }
+        assertEquals(1, sum);
+        
+        ShareSet other = new ShareSet(5, 1);
+        for (int x = 0; x < 5; x++) {
+            other.add(x);
+        }
+        assertSame(basis, Lagrange.coefficients(other, Common.SECRET_INDEX));
+    }
+    
+    /**
+     * Interpolation of f(x) = 7 + 3x + 5x^2 from three points.
+     * @throws iton.slip.secret.SharedSecretException
+     */
+    @Test
+    public void testPolynomial() throws SharedSecretException {
+        ShareSet shares = new ShareSet(3, 1);
+        for (int x : new int[]{1, 5, 9}) {
+            shares.add(x, new byte[]{(byte) f(x)});
+        }
+        
+        for (int x = 0; x < GF256.ORDER; x++) {
+            byte[] basis = Lagrange.coefficients(shares, x);
+            int y = 0;
+            for (int i = 0; i < shares.size(); i++) {
+                y ^= GF256.mul(basis[i], shares.arena()[shares.offset(i)]);
+            }
+            assertEquals(f(x), y);
+        }
+    }
+    
+    /**
+     * Targets outside GF(256) are rejected, not masked into another x.
+     * @throws iton.slip.secret.SharedSecretException
+     */
+    @Test(expected = SharedSecretException.class)
+    public void testTarget() throws SharedSecretException {
+        ShareSet shares = new ShareSet(3, 1);
+        for (int x : new int[]{1, 5, 9}) {
+            shares.add(x, new byte[]{(byte) f(x)});
+        }
+        new SharedSecret().interpolate(shares, 256 + 3);
+    }
+    
+    private int f(int x) {
+        return 7 ^ GF256.mul(3, x) ^ GF256.mul(5, GF256.mul(x, x));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class ShareSetTest {
+    
+    public ShareSetTest() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Shares are kept sorted by x coordinate with their values.
+     * @throws iton.slip.secret.SharedSecretException
+     */
+    @Test
+    public void testAdd() throws SharedSecretException {
+        ShareSet shares = new ShareSet(4);
+        shares.add(255, new byte[]{1, 2});
+        shares.add(3, new byte[]{3, 4});
+        shares.add(254, new byte[]{5, 6});
+        shares.add(0, new byte[]{7, 8});
+        
+        assertEquals(4, shares.size());
+        assertEquals(2, shares.length());
+        assertArrayEquals(new int[]{0, 3, 254, 255}, new int[]{shares.x(0), shares.x(1), shares.x(2), shares.x(3)});
+        assertArrayEquals(new byte[]{7, 8}, shares.value(0));
+        assertArrayEquals(new byte[]{3, 4}, shares.value(1));
+        assertArrayEquals(new byte[]{5, 6}, shares.value(2));
+        assertArrayEquals(new byte[]{1, 2}, shares.value(3));
+        assertTrue(shares.contains(254));
+        assertFalse(shares.contains(1));
+    }
+    
+    @Test(expected = SharedSecretException.class)
+    public void testDuplicate() throws SharedSecretException {
+        ShareSet shares = new ShareSet(4);
+        shares.add(1, new byte[]{1, 2});
+        shares.add(1, new byte[]{3, 4});
+    }
+    
+    @Test(expected = SharedSecretException.class)
+    public void testLength() throws SharedSecretException {
+        ShareSet shares = new ShareSet(4);
+        shares.add(1, new byte[]{1, 2});
+        shares.add(2, new byte[]{3, 4, 5});
+    }
+    
+    @Test(expected = SharedSecretException.class)
+    public void testCapacity() throws SharedSecretException {
+        ShareSet shares = new ShareSet(1);
+        shares.add(1, new byte[]{1, 2});
+        shares.add(2, new byte[]{3, 4});
+    }
+    
+    @Test
+    public void testGroupsAdd() throws SharedSecretException {
+        // the share value is copied, the caller keeps its array
+        Share share = new Share((short) 1, (byte) 0, (byte) 0, (byte) 1, (byte) 1, (byte) 2, (byte) 2, new byte[]{1, 2});
+        Groups root = new Groups();
+        SharedSecret.add(root, share);
+        assertArrayEquals(new byte[]{1, 2}, share.value);
+        assertArrayEquals(new byte[]{1, 2}, root.groups[0].shares().value(0));
+        
+        root.wipe();
+        assertArrayEquals(new byte[]{0, 0}, root.groups[0].shares().value(0));
+    }
+    
+    @Test(expected = SharedSecretException.class)
+    public void testIndex() throws SharedSecretException {
+        ShareSet shares = new ShareSet(4);
+        shares.add(256, new byte[]{1, 2});
+    }
+}
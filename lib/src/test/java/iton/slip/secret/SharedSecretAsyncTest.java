@@ -0,0 +1,143 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret;
+
+import iton.slip.secret.util.Utils;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class SharedSecretAsyncTest {
+    
+    public SharedSecretAsyncTest() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+    
+    @Test
+    public void testGenerateCombine() throws InterruptedException, ExecutionException {
+        String passphrase = "alcatraz";
+        byte[] master_secret = new byte[16];
+        Utils.randomBytes(master_secret);
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 3));
+        
+        SharedSecret shared = new SharedSecret();
+        List<String> mnemonics = shared.generateAsync(master_secret, passphrase, (byte) 1, groups, (byte) 0).get();
+        assertEquals(3, mnemonics.size());
+        
+        byte[] result = shared.combineAsync(new String[]{mnemonics.get(0), mnemonics.get(2)}, passphrase, Runnable::run).get();
+        assertArrayEquals(master_secret, result);
+    }
+    
+    @Test
+    public void testBurst() throws InterruptedException, ExecutionException, SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        // more requests than the default queue holds, the overflow is rejected
+        // through the future instead of running on the submitting thread
+        String passphrase = "alcatraz";
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 3));
+        
+        SharedSecret shared = new SharedSecret();
+        int count = 8 * Runtime.getRuntime().availableProcessors() + 8;
+        List<byte[]> secrets = new ArrayList<>();
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            byte[] master_secret = new byte[16];
+            Utils.randomBytes(master_secret);
+            secrets.add(master_secret);
+            futures.add(shared.generateAsync(master_secret, passphrase, (byte) 1, groups, (byte) 0));
+        }
+        for (int i = 0; i < count; i++) {
+            List<String> mnemonics;
+            try {
+                mnemonics = futures.get(i).get();
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof RejectedExecutionException);
+                continue;
+            }
+            assertArrayEquals(secrets.get(i), shared.combine(new String[]{mnemonics.get(0), mnemonics.get(1)}, passphrase));
+        }
+    }
+    
+    @Test
+    public void testRejected() throws InterruptedException {
+        Executor full = task -> {
+            throw new RejectedExecutionException("full");
+        };
+        CompletableFuture<byte[]> future = new SharedSecret().combineAsync(new String[]{""}, "", full);
+        try {
+            future.get();
+            fail("Rejection expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+    
+    @Test
+    public void testCombineFailure() throws InterruptedException {
+        String[] mnemonics = new String[]{
+            "duckling enlarge academic academic agency result length solution fridge kidney coal piece deal husband erode duke ajar critical decision kidney"
+        };
+        
+        try {
+            new SharedSecret().combineAsync(mnemonics, "TREZOR").get();
+            fail("Invalid checksum expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SharedSecretException);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret;
+
+import iton.slip.secret.util.Utils;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class SharedSecretCompleteTest {
+    
+    public SharedSecretCompleteTest() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+    
+    @Test
+    public void testComplete() throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 4));
+        
+        SharedSecret shared = new SharedSecret();
+        for (int n = 0; n < 20; n++) {
+            byte[] master = new byte[16];
+            Utils.randomBytes(master);
+            List<String> mnemonics = shared.generate(master, "", (byte) 1, groups, (byte) 0);
+            
+            String[] words = mnemonics.get(3).split(" ");
+            words[5] = "?";
+            words[words.length - 2] = "?";
+            String lost = String.join(" ", words);
+            
+            List<String> result = shared.complete(lost, new String[]{mnemonics.get(0), mnemonics.get(1)});
+            assertEquals(1, result.size());
+            assertEquals(mnemonics.get(3), result.get(0));
+            
+            // a share of another secret rules the completion out
+            List<String> other = shared.generate(master, "", (byte) 1, groups, (byte) 0);
+            assertTrue(shared.complete(lost, new String[]{other.get(0), other.get(1)}).isEmpty());
+        }
+    }
+}
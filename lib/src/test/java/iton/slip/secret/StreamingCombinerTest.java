@@ -0,0 +1,254 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret;
+
+import iton.slip.secret.util.Utils;
+import iton.slip.secret.words.Mnemonic;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class StreamingCombinerTest {
+    
+    private static final String PASSPHRASE = "TREZOR";
+    
+    public StreamingCombinerTest() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+    
+    @Test
+    public void testCombine() throws IOException, SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 3));
+        groups.add(new Group(1, 1));
+        groups.add(new Group(3, 5));
+        
+        // secrets keyed by identifier, skipping colliding identifiers
+        Map<Integer, byte[]> secrets = new HashMap<>();
+        List<List<String>> mnemonics = new ArrayList<>();
+        SharedSecret shared = new SharedSecret();
+        while (secrets.size() < 20) {
+            byte[] secret = new byte[16];
+            Utils.randomBytes(secret);
+            List<String> shares = shared.generate(secret, PASSPHRASE, (byte) 2, groups, (byte) 0);
+            int id = Mnemonic.INSTANCE.decode(shares.get(0)).id;
+            if (!secrets.containsKey(id)) {
+                secrets.put(id, secret);
+                mnemonics.add(shares);
+            }
+        }
+        
+        // interleave the secrets; group 0 and 2 complete the secrets, group 2
+        // needs three shares, the shares after them are surplus
+        StringBuilder dump = new StringBuilder();
+        int[] order = new int[]{0, 4, 5, 1, 6, 2, 3, 7, 8};
+        for (int index : order) {
+            for (List<String> shares : mnemonics) {
+                dump.append(shares.get(index)).append('\n');
+            }
+            dump.append('\n');
+        }
+        
+        Map<Integer, byte[]> recovered = new HashMap<>();
+        StreamingCombiner combiner = new StreamingCombiner(PASSPHRASE, (id, master) -> recovered.put(id, master));
+        int count = combiner.combine(new ByteArrayInputStream(dump.toString().getBytes(StandardCharsets.UTF_8)));
+        
+        assertEquals(secrets.size(), count);
+        assertEquals(secrets.size(), recovered.size());
+        assertEquals(4 * secrets.size(), combiner.skipped());
+        assertEquals(0, combiner.pending());
+        for (Map.Entry<Integer, byte[]> entry : secrets.entrySet()) {
+            assertArrayEquals(entry.getValue(), recovered.get(entry.getKey()));
+        }
+    }
+    
+    @Test
+    public void testPending() throws IOException, SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 3));
+        
+        byte[] secret = new byte[32];
+        Utils.randomBytes(secret);
+        List<String> shares = new SharedSecret().generate(secret, "", (byte) 1, groups, (byte) 0);
+        
+        List<byte[]> recovered = new ArrayList<>();
+        StreamingCombiner combiner = new StreamingCombiner("", (id, master) -> recovered.add(master));
+        
+        assertEquals(0, combiner.combine(new StringReader(shares.get(2) + "\n")));
+        assertEquals(1, combiner.pending());
+        assertEquals(0, recovered.size());
+        
+        assertEquals(1, combiner.combine(new StringReader(shares.get(0) + "\n")));
+        assertEquals(0, combiner.pending());
+        assertArrayEquals(secret, recovered.get(0));
+    }
+    
+    @Test
+    public void testDuplicate() throws IOException, SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 3));
+        
+        byte[] secret = new byte[16];
+        Utils.randomBytes(secret);
+        List<String> shares = new SharedSecret().generate(secret, "", (byte) 1, groups, (byte) 0);
+        
+        // the repeated share is rejected without stopping the stream
+        List<byte[]> recovered = new ArrayList<>();
+        StreamingCombiner combiner = new StreamingCombiner("", (id, master) -> recovered.add(master));
+        assertEquals(1, combiner.combine(new StringReader(shares.get(1) + "\n" + shares.get(1) + "\n" + shares.get(2) + "\n")));
+        assertEquals(1, combiner.rejected());
+        assertEquals(0, combiner.pending());
+        assertArrayEquals(secret, recovered.get(0));
+    }
+    
+    @Test
+    public void testSurplus() throws IOException, SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 5));
+        
+        byte[] secret = new byte[16];
+        Utils.randomBytes(secret);
+        List<String> shares = new SharedSecret().generate(secret, PASSPHRASE, (byte) 1, groups, (byte) 0);
+        
+        List<byte[]> recovered = new ArrayList<>();
+        StreamingCombiner combiner = new StreamingCombiner(PASSPHRASE, (id, master) -> recovered.add(master));
+        assertEquals(1, combiner.combine(new StringReader(String.join("\n", shares))));
+        assertEquals(1, recovered.size());
+        assertArrayEquals(secret, recovered.get(0));
+        assertEquals(3, combiner.skipped());
+        assertEquals(0, combiner.rejected());
+        assertEquals(0, combiner.pending());
+    }
+    
+    @Test
+    public void testCollision() throws IOException, SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        
+        List<Group> first_groups = new ArrayList<>();
+        first_groups.add(new Group(2, 3));
+        List<Group> second_groups = new ArrayList<>();
+        second_groups.add(new Group(3, 5));
+        
+        byte[] first = new byte[16];
+        byte[] second = new byte[16];
+        byte[] third = new byte[16];
+        Utils.randomBytes(first);
+        Utils.randomBytes(second);
+        Utils.randomBytes(third);
+        
+        // the first two secrets share an identifier with different layouts
+        SharedSecret shared = new SharedSecret();
+        List<String> first_shares = shared.share((short) 42, first, PASSPHRASE, (byte) 1, first_groups, (byte) 0);
+        List<String> second_shares = shared.share((short) 42, second, PASSPHRASE, (byte) 1, second_groups, (byte) 0);
+        List<String> third_shares = shared.share((short) 43, third, PASSPHRASE, (byte) 1, first_groups, (byte) 0);
+        
+        String dump = String.join("\n",
+                first_shares.get(0),
+                second_shares.get(0),
+                third_shares.get(0),
+                first_shares.get(1),
+                second_shares.get(1),
+                second_shares.get(2),
+                third_shares.get(1));
+        
+        Map<Integer, byte[]> recovered = new HashMap<>();
+        StreamingCombiner combiner = new StreamingCombiner(PASSPHRASE, (id, master) -> recovered.put(id, master));
+        assertEquals(2, combiner.combine(new StringReader(dump)));
+        assertArrayEquals(first, recovered.get(42));
+        assertArrayEquals(third, recovered.get(43));
+        assertEquals(1, combiner.rejected());
+        assertEquals(2, combiner.skipped());
+        assertEquals(0, combiner.pending());
+    }
+    
+    @Test
+    public void testCollisionSameLayout() throws IOException, SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 3));
+        
+        byte[] first = new byte[16];
+        byte[] second = new byte[16];
+        Utils.randomBytes(first);
+        Utils.randomBytes(second);
+        
+        SharedSecret shared = new SharedSecret();
+        List<String> first_shares = shared.share((short) 7, first, PASSPHRASE, (byte) 1, groups, (byte) 0);
+        List<String> second_shares = shared.share((short) 7, second, PASSPHRASE, (byte) 1, groups, (byte) 0);
+        
+        // mixed shares fail the digest check and are dropped, the first secret
+        // is recovered from the following shares and the second one is skipped
+        String dump = String.join("\n",
+                first_shares.get(0),
+                second_shares.get(1),
+                first_shares.get(1),
+                first_shares.get(2),
+                second_shares.get(0),
+                second_shares.get(2));
+        
+        Map<Integer, byte[]> recovered = new HashMap<>();
+        StreamingCombiner combiner = new StreamingCombiner(PASSPHRASE, (id, master) -> recovered.put(id, master));
+        assertEquals(1, combiner.combine(new StringReader(dump)));
+        assertArrayEquals(first, recovered.get(7));
+        assertEquals(2, combiner.rejected());
+        assertEquals(2, combiner.skipped());
+        assertEquals(0, combiner.pending());
+    }
+}
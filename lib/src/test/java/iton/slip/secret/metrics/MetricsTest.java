@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret.metrics;
+
+import iton.slip.secret.Group;
+import iton.slip.secret.SharedSecret;
+import iton.slip.secret.SharedSecretException;
+import iton.slip.secret.util.Utils;
+import iton.slip.secret.words.Mnemonic;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class MetricsTest {
+    
+    private final HistogramRecorder recorder = new HistogramRecorder();
+    
+    public MetricsTest() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+        Metrics.setRecorder(recorder);
+    }
+    
+    @After
+    public void tearDown() {
+        Metrics.setRecorder(null);
+    }
+    
+    @Test
+    public void testGenerateCombine() throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 3));
+        
+        byte[] master = new byte[16];
+        Utils.randomBytes(master);
+        SharedSecret shared = new SharedSecret();
+        List<String> mnemonics = shared.generate(master, "", (byte) 1, groups, (byte) 0);
+        byte[] result = shared.combine(new String[]{mnemonics.get(0), mnemonics.get(2)}, "");
+        assertArrayEquals(master, result);
+        
+        assertEquals(1, recorder.timer(Metrics.GENERATE).count());
+        assertEquals(1, recorder.timer(Metrics.COMBINE).count());
+        assertEquals(1, recorder.timer(Metrics.ENCRYPT).count());
+        assertEquals(1, recorder.timer(Metrics.DECRYPT).count());
+        assertEquals(3, recorder.timer(Metrics.MNEMONIC_ENCODE).count());
+        assertEquals(2, recorder.timer(Metrics.MNEMONIC_DECODE).count());
+        assertEquals(2, recorder.timer(Metrics.MNEMONIC_TOKENIZE).count());
+        assertTrue(recorder.timer(Metrics.INTERPOLATE).count() > 0);
+        
+        long total = recorder.timer(Metrics.COMBINE).total();
+        assertTrue(total > 0);
+        assertTrue(recorder.timer(Metrics.COMBINE).percentile(0.5) >= total);
+        assertEquals(0, recorder.counter(Metrics.CHECKSUM_FAILURE));
+    }
+    
+    @Test
+    public void testChecksumFailure() {
+        String mnemonic = "eraser senior decision smug corner ruin rescue cubic angel tackle skin skunk program roster trash rumor slush angel flea academic";
+        try {
+            Mnemonic.INSTANCE.decode(mnemonic);
+            fail();
+        } catch (SharedSecretException e) {
+            assertEquals(1, recorder.counter(Metrics.CHECKSUM_FAILURE));
+        }
+    }
+    
+    @Test
+    public void testHistogram() {
+        HistogramRecorder.Histogram histogram = new HistogramRecorder.Histogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(500500, histogram.total());
+        assertEquals(500.5, histogram.mean(), 0);
+        assertEquals(511, histogram.percentile(0.5));
+        assertEquals(1023, histogram.percentile(0.99));
+        assertEquals(1, histogram.percentile(0));
+    }
+    
+    @Test
+    public void testNoop() {
+        Metrics.setRecorder(null);
+        assertTrue(Metrics.getRecorder() == MetricsRecorder.NOOP);
+        assertEquals(0, Metrics.start());
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Andrei
+ */
+public class ChecksumTest {
+    
+    public ChecksumTest() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of verify method, of class Checksum.
+     */
+    @Test
+    public void testCreateVerify() {
+        short[] data = new short[]{1,2,3,4,5,6,7,8,9};
+        short[] checksum = Checksum.create(data);
+
+        short[] result = new short[data.length + checksum.length];
+        System.arraycopy(data, 0, result, 0, data.length);
+        System.arraycopy(checksum, 0, result, data.length, checksum.length);
+        assertTrue(Checksum.verify(result));
+       
+    }
+    
+    @Test
+    public void testRange() {
+        Random random = new Random(7);
+        for (int n = 0; n < 1000; n++) {
+            short[] data = new short[20 + random.nextInt(14)];
+            for (int i = 0; i < data.length - 3; i++) {
+                data[i] = (short) random.nextInt(1024);
+            }
+            short[] words = new short[data.length + 4];
+            System.arraycopy(data, 0, words, 2, data.length);
+            
+            Checksum.create(words, 2, 2 + data.length - 3);
+            System.arraycopy(checksum(data, data.length - 3), 0, data, data.length - 3, 3);
+            assertArrayEquals(data, Arrays.copyOfRange(words, 2, 2 + data.length));
+            assertTrue(Checksum.verify(data));
+            assertTrue(Checksum.verify(words, 2, 2 + data.length));
+            
+            words[2 + random.nextInt(data.length)] ^= 1 + random.nextInt(1023);
+            assertFalse(Checksum.verify(words, 2, 2 + data.length));
+        }
+    }
+    
+    @Test
+    public void testCorrect() {
+        Random random = new Random(11);
+        for (int n = 0; n < 1000; n++) {
+            short[] words = new short[20 + random.nextInt(14)];
+            for (int i = 0; i < words.length - 3; i++) {
+                words[i] = (short) random.nextInt(1024);
+            }
+            Checksum.create(words, 0, words.length - 3);
+            
+            List<short[]> result = Checksum.correct(words, 0, words.length);
+            assertEquals(1, result.size());
+            assertArrayEquals(words, result.get(0));
+            
+            short[] typo = Arrays.copyOf(words, words.length);
+            typo[random.nextInt(words.length)] ^= 1 + random.nextInt(1023);
+            result = Checksum.correct(typo, 0, typo.length);
+            assertEquals(1, result.size());
+            assertArrayEquals(words, result.get(0));
+        }
+    }
+    
+    @Test
+    public void testComplete() {
+        Random random = new Random(13);
+        for (int n = 0; n < 100; n++) {
+            short[] words = new short[20 + random.nextInt(14)];
+            for (int i = 0; i < words.length - 3; i++) {
+                words[i] = (short) random.nextInt(1024);
+            }
+            Checksum.create(words, 0, words.length - 3);
+            
+            int first = random.nextInt(words.length);
+            int second = (first + 1 + random.nextInt(words.length - 1)) % words.length;
+            short[] lost = Arrays.copyOf(words, words.length);
+            lost[first] = (short) random.nextInt(1024);
+            lost[second] = (short) random.nextInt(1024);
+            
+            List<short[]> result = Checksum.complete(lost, 0, lost.length, first);
+            assertTrue(result.isEmpty() || lost[second] == words[second]);
+            
+            lost[second] = words[second];
+            result = Checksum.complete(lost, 0, lost.length, first);
+            assertEquals(1, result.size());
+            assertArrayEquals(words, result.get(0));
+            
+            result = Checksum.complete(lost, 0, lost.length, first, second);
+            assertEquals(1, result.size());
+            assertArrayEquals(words, result.get(0));
+        }
+    }
+    
+    // bitwise RS1024 from the SLIP-39 reference
+    private static short[] checksum(short[] data, int length) {
+        int[] gen = new int[]{
+            0xE0E040, 0x1C1C080, 0x3838100, 0x7070200, 0xE0E0009,
+            0x1C0C2412, 0x38086C24, 0x3090FC48, 0x21B1F890, 0x3F3F120
+        };
+        short[] values = new short[6 + length + 3];
+        byte[] customization = "shamir".getBytes();
+        for (int i = 0; i < 6; i++) {
+            values[i] = customization[i];
+        }
+        System.arraycopy(data, 0, values, 6, length);
+        int chk = 1;
+        for (short v : values) {
+            int b = chk >> 20;
+            chk = ((chk & 0xFFFFF) << 10) ^ v;
+            for (int i = 0; i < 10; i++) {
+                if (((b >> i) & 1) != 0) {
+                    chk ^= gen[i];
+                }
+            }
+        }
+        chk ^= 1;
+        return new short[]{(short) ((chk >> 20) & 0x3FF), (short) ((chk >> 10) & 0x3FF), (short) (chk & 0x3FF)};
+    }
+}
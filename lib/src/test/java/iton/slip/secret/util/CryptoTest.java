@@ -24,6 +24,8 @@
 package iton.slip.secret.util;
 
 import iton.slip.secret.SharedSecretException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -72,4 +74,55 @@ public class CryptoTest {
         assertArrayEquals(master_result, master);
         
     }
+    
+    /**
+     * Secrets with multi block round keys encrypt the same on an executor.
+     * @throws iton.slip.secret.SharedSecretException
+     */
+    @Test
+    public void testEncryptDecryptExecutor() throws SharedSecretException {
+        short id = (short)7;
+        byte iteration_exponent = 0;
+        byte[] master = new byte[200];
+        Utils.randomBytes(master);
+        String passphrase = "ALCATRAZ";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            byte[] encrypted_master = Crypto.encrypt(id, iteration_exponent, master, passphrase, executor);
+            assertArrayEquals(Crypto.encrypt(id, iteration_exponent, master, passphrase), encrypted_master);
+            byte[] master_result = Crypto.decrypt(id, iteration_exponent, encrypted_master, passphrase, executor);
+            assertArrayEquals(master, master_result);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    /**
+     * Odd lengths can not be split into two Feistel halves.
+     */
+    @Test
+    public void testOddLength() {
+        byte[] master = new byte[17];
+        Utils.randomBytes(master);
+        try {
+            Crypto.encrypt((short) 1, (byte) 0, master, "ALCATRAZ");
+            fail("Odd length encrypted");
+        } catch (SharedSecretException e) {
+        }
+        try {
+            Crypto.decrypt((short) 1, (byte) 0, master, "ALCATRAZ");
+            fail("Odd length decrypted");
+        } catch (SharedSecretException e) {
+        }
+        try (SecretBuffer buffer = SecretBuffer.copyOf(master)) {
+            Crypto.encrypt((short) 1, (byte) 0, buffer, "ALCATRAZ");
+            fail("Odd length encrypted");
+        } catch (SharedSecretException e) {
+        }
+        try (SecretBuffer buffer = SecretBuffer.copyOf(master)) {
+            Crypto.decrypt((short) 1, (byte) 0, buffer, "ALCATRAZ");
+            fail("Odd length decrypted");
+        } catch (SharedSecretException e) {
+        }
+    }
 }
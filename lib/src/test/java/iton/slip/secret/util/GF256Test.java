@@ -0,0 +1,150 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret.util;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class GF256Test {
+    
+    public GF256Test() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * Test of mul method against the LOG/EXP tables.
+     */
+    @Test
+    public void testMul() {
+        for (int a = 0; a < GF256.ORDER; a++) {
+            for (int b = 0; b < GF256.ORDER; b++) {
+                int expected = a == 0 || b == 0 ? 0 : Utils.EXP[(Utils.LOG[a] + Utils.LOG[b]) % 255];
+                assertEquals(expected, GF256.mul(a, b));
+            }
+        }
+    }
+    
+    /**
+     * Test of inverse and div methods.
+     */
+    @Test
+    public void testInverseDiv() {
+        for (int a = 1; a < GF256.ORDER; a++) {
+            assertEquals(1, GF256.mul(a, GF256.inverse(a)));
+            for (int b = 1; b < GF256.ORDER; b++) {
+                assertEquals(a, GF256.mul(GF256.div(a, b), b));
+            }
+        }
+    }
+    
+    /**
+     * Test of mulAdd method, of class GF256.
+     */
+    @Test
+    public void testMulAdd() {
+        byte[] src = new byte[67];
+        byte[] dst = new byte[src.length + 3];
+        Utils.randomBytes(src);
+        Utils.randomBytes(dst);
+        
+        for (int c = 0; c < GF256.ORDER; c++) {
+            byte[] expected = dst.clone();
+            for (int i = 0; i < src.length; i++) {
+                expected[i + 3] ^= GF256.mul(c, src[i]);
+            }
+            GF256.mulAdd(dst, 3, src, 0, src.length, c);
+            assertArrayEquals(expected, dst);
+        }
+    }
+    
+    /**
+     * Test of the vector kernel against the scalar table kernel.
+     */
+    @Test
+    public void testVectorScalar() {
+        int[] lengths = new int[]{100, GF256.VECTOR_THRESHOLD, GF256.VECTOR_THRESHOLD + 7, 4099};
+        for (int length : lengths) {
+            byte[] src = new byte[length];
+            byte[] dst = new byte[length + 5];
+            Utils.randomBytes(src);
+            Utils.randomBytes(dst);
+            
+            for (int c = 0; c < GF256.ORDER; c++) {
+                byte[] expected = dst.clone();
+                GF256.mulAddTable(expected, 5, src, 0, length, c);
+                GF256.mulAdd(dst, 5, src, 0, length, c);
+                assertArrayEquals(expected, dst);
+            }
+        }
+    }
+    
+    /**
+     * Test of the constant time kernels against the table kernels.
+     */
+    @Test
+    public void testConstantTime() {
+        for (int a = 0; a < GF256.ORDER; a++) {
+            for (int b = 0; b < GF256.ORDER; b++) {
+                assertEquals(GF256.mul(a, b), GF256.mulConstantTime(a, b));
+            }
+        }
+        
+        for (int length = 0; length < 40; length++) {
+            byte[] src = new byte[length];
+            byte[] dst = new byte[length + 1];
+            Utils.randomBytes(src);
+            Utils.randomBytes(dst);
+            
+            for (int c = 0; c < GF256.ORDER; c++) {
+                byte[] expected = dst.clone();
+                GF256.mulAddTable(expected, 1, src, 0, length, c);
+                GF256.mulAddConstantTime(dst, 1, src, 0, length, c);
+                assertArrayEquals(expected, dst);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import org.spongycastle.crypto.digests.SHA256Digest;
+import org.spongycastle.crypto.generators.PKCS5S2ParametersGenerator;
+import org.spongycastle.crypto.params.KeyParameter;
+import org.spongycastle.util.encoders.Hex;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class Pbkdf2Test {
+    
+    public Pbkdf2Test() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+    /**
+     * RFC 7914 PBKDF2-HMAC-SHA256 test vector.
+     */
+    @Test
+    public void testVector() {
+        Pbkdf2 pbkdf2 = new Pbkdf2("passwd".getBytes());
+        byte[] key = pbkdf2.derive("salt".getBytes(), 1, 64);
+        assertEquals("55ac046e56e3089fec1691c22544b605f94185216dde0465e68b9d57c20dacbc"
+                + "49ca9cccf179b645991664b39d77ef317c71b845b1e30bd509112041d3a19783", Hex.toHexString(key));
+    }
+    
+    @Test
+    public void testWipe() {
+        Pbkdf2 pbkdf2 = new Pbkdf2("passwd".getBytes());
+        byte[] key = pbkdf2.derive("salt".getBytes(), 1, 32);
+        pbkdf2.wipe();
+        assertFalse(Arrays.equals(key, pbkdf2.derive("salt".getBytes(), 1, 32)));
+    }
+    
+    /**
+     * Test of derive method against the BouncyCastle generator.
+     */
+    @Test
+    public void testDerive() {
+        int[] password_lengths = new int[]{0, 1, 9, 64, 65, 100};
+        int[] salt_lengths = new int[]{0, 8, 51, 52, 56, 100};
+        int[] key_lengths = new int[]{8, 16, 32, 33, 64, 100};
+        
+        for (int password_length : password_lengths) {
+            byte[] password = new byte[password_length];
+            Utils.randomBytes(password);
+            Pbkdf2 pbkdf2 = new Pbkdf2(password);
+            
+            for (int salt_length : salt_lengths) {
+                byte[] salt = new byte[salt_length];
+                Utils.randomBytes(salt);
+                
+                for (int key_length : key_lengths) {
+                    for (int iterations : new int[]{1, 2, 100}) {
+                        PKCS5S2ParametersGenerator generator = new PKCS5S2ParametersGenerator(new SHA256Digest());
+                        generator.init(password, salt, iterations);
+                        KeyParameter expected = (KeyParameter) generator.generateDerivedMacParameters(key_length * Byte.SIZE);
+                        assertArrayEquals(expected.getKey(), pbkdf2.derive(salt, iterations, key_length));
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Blocks computed in parallel give the same key as the sequential loop.
+     */
+    @Test
+    public void testDeriveParallel() {
+        Pbkdf2 pbkdf2 = new Pbkdf2("TREZOR".getBytes());
+        byte[] salt = "salt".getBytes();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int key_length : new int[]{16, 32, 33, 100, 256}) {
+                byte[] expected = pbkdf2.derive(salt, 100, key_length);
+                byte[] actual = new byte[key_length + 2];
+                pbkdf2.derive(salt, 100, actual, 2, key_length, executor);
+                assertArrayEquals(expected, Arrays.copyOfRange(actual, 2, actual.length));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret.util;
+
+import iton.slip.secret.Group;
+import iton.slip.secret.SharedSecret;
+import iton.slip.secret.SharedSecretException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class SecretBufferTest {
+    
+    public SecretBufferTest() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+    
+    @Test
+    public void testTake() {
+        byte[] value = new byte[16];
+        Utils.randomBytes(value);
+        byte[] copy = value.clone();
+        
+        try (SecretBuffer buffer = SecretBuffer.take(value)) {
+            assertArrayEquals(new byte[16], value);
+            assertEquals(16, buffer.length());
+            assertArrayEquals(copy, buffer.toByteArray());
+        }
+    }
+    
+    @Test
+    public void testClose() {
+        SecretBuffer buffer = SecretBuffer.copyOf(new byte[]{1, 2, 3, 4});
+        assertFalse(buffer.isClosed());
+        buffer.close();
+        assertTrue(buffer.isClosed());
+        // closing twice is harmless
+        buffer.close();
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testAccessAfterClose() {
+        SecretBuffer buffer = SecretBuffer.copyOf(new byte[]{1, 2, 3, 4});
+        buffer.close();
+        buffer.get(0);
+    }
+    
+    @Test
+    public void testCopy() {
+        byte[] value = new byte[16];
+        Utils.randomBytes(value);
+        
+        try (SecretBuffer buffer = SecretBuffer.copyOf(value)) {
+            SecretBuffer copy = buffer.copy();
+            try (SecretBuffer again = copy.copy()) {
+                copy.close();
+                assertArrayEquals(value, again.toByteArray());
+            }
+            assertArrayEquals(value, buffer.toByteArray());
+        }
+    }
+    
+    @Test
+    public void testCloseWhileReading() throws InterruptedException {
+        byte[] value = new byte[4096];
+        Arrays.fill(value, (byte) 0xFF);
+        
+        for (int i = 0; i < 20; i++) {
+            SecretBuffer buffer = SecretBuffer.copyOf(value);
+            AtomicBoolean torn = new AtomicBoolean();
+            Thread reader = new Thread(() -> {
+                try {
+                    while (true) {
+                        byte[] bytes = buffer.toByteArray();
+                        // a read sees the bytes or fails, never a zeroed buffer
+                        if (!Arrays.equals(value, bytes)) {
+                            torn.set(true);
+                        }
+                    }
+                } catch (IllegalStateException e) {
+                    // closed
+                }
+            });
+            reader.start();
+            buffer.close();
+            reader.join();
+            assertFalse(torn.get());
+        }
+    }
+    
+    @Test
+    public void testWipe() {
+        byte[] a = {1, 2, 3};
+        byte[] b = {4, 5};
+        SecretBuffer.wipe(a, null, b);
+        assertArrayEquals(new byte[3], a);
+        assertArrayEquals(new byte[2], b);
+    }
+    
+    @Test
+    public void testCrypto() throws SharedSecretException {
+        byte[] value = new byte[16];
+        Utils.randomBytes(value);
+        
+        try (SecretBuffer master = SecretBuffer.copyOf(value);
+                SecretBuffer encrypted = Crypto.encrypt((short) 7, (byte) 0, master, "TREZOR");
+                SecretBuffer decrypted = Crypto.decrypt((short) 7, (byte) 0, encrypted, "TREZOR")) {
+            assertArrayEquals(Crypto.encrypt((short) 7, (byte) 0, value, "TREZOR"), encrypted.toByteArray());
+            assertArrayEquals(value, decrypted.toByteArray());
+        }
+    }
+    
+    @Test
+    public void testSharedSecret() throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        String passphrase = "TREZOR";
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 3));
+        
+        byte[] value = new byte[32];
+        Utils.randomBytes(value);
+        
+        SharedSecret shared = new SharedSecret();
+        List<String> mnemonics;
+        try (SecretBuffer master = SecretBuffer.copyOf(value)) {
+            mnemonics = shared.generate(master, passphrase, (byte) 1, groups, (byte) 0);
+        }
+        assertEquals(3, mnemonics.size());
+        
+        try (SecretBuffer master = shared.combineSecret(new String[]{mnemonics.get(0), mnemonics.get(2)}, passphrase)) {
+            assertArrayEquals(value, master.toByteArray());
+        }
+    }
+}
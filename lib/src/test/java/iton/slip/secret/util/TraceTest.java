@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret.util;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import iton.slip.secret.Group;
+import iton.slip.secret.SharedSecret;
+import iton.slip.secret.SharedSecretException;
+import iton.slip.secret.words.Mnemonic;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+/**
+ *
+ * @author ITON Solutions
+ */
+public class TraceTest {
+    
+    private Logger logger;
+    private Level level;
+    private ListAppender<ILoggingEvent> appender;
+    
+    public TraceTest() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+        // capture the trace logger at TRACE level, whatever the configuration says
+        logger = (Logger) LoggerFactory.getLogger("iton.slip.secret.trace");
+        level = logger.getLevel();
+        logger.setLevel(Level.TRACE);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+    
+    @After
+    public void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(level);
+    }
+    
+    @Test
+    public void testDecode() throws SharedSecretException, NoSuchAlgorithmException, InvalidKeyException {
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, 3));
+        byte[] secret = new byte[16];
+        Utils.randomBytes(secret);
+        List<String> mnemonics = new SharedSecret().generate(secret, "", (byte) 1, groups, (byte) 0);
+        appender.list.clear();
+        
+        for (String mnemonic : mnemonics) {
+            Mnemonic.INSTANCE.decode(mnemonic);
+        }
+        // one event per share when built with tracing, none at all otherwise
+        assertEquals(Trace.ENABLED ? mnemonics.size() : 0, appender.list.size());
+    }
+    
+    @Test
+    public void testSupplier() {
+        int[] called = new int[1];
+        Trace.event(() -> {
+            called[0]++;
+            return "event";
+        });
+        // the message is only built when tracing is compiled in
+        assertEquals(Trace.ENABLED ? 1 : 0, called[0]);
+        assertEquals(called[0], appender.list.size());
+    }
+}
@@ -34,6 +34,7 @@ import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 import org.junit.After;
 import org.junit.AfterClass;
 import static org.junit.Assert.*;
@@ -109,6 +110,49 @@ public class BigEncoderTest {
        
     }
     
+    @Test
+    public void testPackUnpack() throws SharedSecretException {
+        Random random = new Random(42);
+        for (int length = 16; length <= 32; length += 2) {
+            for (int n = 0; n < 100; n++) {
+                byte[] value = new byte[length];
+                random.nextBytes(value);
+                int words = Utils.bitsToWords(length * Byte.SIZE);
+                
+                short[] indices = new short[words + 2];
+                Mnemonic.pack(value, indices, 1, words);
+                assertArrayEquals(bigToIndices(decodeToBig(value), words, RADIX_BITS), Arrays.copyOfRange(indices, 1, words + 1));
+                
+                byte[] result = new byte[length];
+                Mnemonic.unpack(indices, 1, words + 1, result);
+                assertArrayEquals(value, result);
+                assertArrayEquals(decodeFromBig(bigFromIndices(Arrays.copyOfRange(indices, 1, words + 1)), length), result);
+            }
+        }
+    }
+    
+    @Test
+    public void testUnpackWords() throws SharedSecretException {
+        String mnemonic = "humidity disease academic always aluminum jewelry energy woman receiver strategy amuse duckling lying evidence network walnut tactics forget hairy rebound impulse brother survive clothes stadium mailman rival ocean reward venture always armed unwrap";
+        short[] indices = Mnemonic.INSTANCE.indicesFromMnemonic(mnemonic);
+        int padding = RADIX_BITS * (indices.length - METADATA_LENGTH_WORDS) % Short.SIZE;
+        int from = ID_EXP_LENGTH_WORDS + 2;
+        int to = indices.length - CHECKSUM_LENGTH_WORDS;
+        int count = Utils.bitsToBytes(RADIX_BITS * (to - from) - padding);
+        
+        byte[] value = new byte[count];
+        Mnemonic.unpack(indices, from, to, value);
+        assertArrayEquals(decodeFromBig(bigFromIndices(Arrays.copyOfRange(indices, from, to)), count), value);
+    }
+    
+    @Test(expected = SharedSecretException.class)
+    public void testUnpackPadding() throws SharedSecretException {
+        // 13 words carry 130 bits, the first 2 padding bits are set
+        short[] indices = new short[13];
+        indices[0] = 0x200;
+        Mnemonic.unpack(indices, 0, indices.length, new byte[16]);
+    }
+    
     private BigInteger bigFromIndices(short[] indices) {
         BigInteger value = BigInteger.ZERO;
         BigInteger radix = BigInteger.valueOf(1 << RADIX_BITS);
@@ -0,0 +1,189 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2020 ITON Solutions.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package iton.slip.secret.words;
+
+import iton.slip.secret.Share;
+import iton.slip.secret.SharedSecretException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.AfterClass;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ *
+ * @author Andrei
+ */
+public class MnemonicTest {
+    
+    private static final Map<String, Integer> MAP = new HashMap<>();
+    
+    public MnemonicTest() {
+    }
+    
+    @BeforeClass
+    public static void setUpClass() {
+       
+    }
+    
+    @AfterClass
+    public static void tearDownClass() {
+    }
+    
+    @Before
+    public void setUp() {
+    }
+    
+    @After
+    public void tearDown() {
+    }
+
+ 
+    /**
+     * Test of indicesFromMnemonic method, of class Mnemonic.
+     */
+    @Test
+    public void testMnemonicFromToIndices() throws SharedSecretException {
+        String mnemonic = "humidity disease academic always aluminum jewelry energy woman receiver strategy amuse duckling lying evidence network walnut tactics forget hairy rebound impulse brother survive clothes stadium mailman rival ocean reward venture always armed unwrap";
+        short[] indices = Mnemonic.INSTANCE.indicesFromMnemonic(mnemonic);
+        String result = Mnemonic.INSTANCE.indicesToMnemonic(indices);
+        assertEquals(mnemonic, result);
+    }
+    
+    @Test
+    public void testEncodeDecodeMnemonic() throws SharedSecretException {
+        String[] mnemonics = new String[]{
+            "humidity disease academic always aluminum jewelry energy woman receiver strategy amuse duckling lying evidence network walnut tactics forget hairy rebound impulse brother survive clothes stadium mailman rival ocean reward venture always armed unwrap",
+            "eraser senior decision smug corner ruin rescue cubic angel tackle skin skunk program roster trash rumor slush angel flea amazing"};
+        
+        for (String mnemonic : mnemonics) {
+            Share share = Mnemonic.INSTANCE.decode(mnemonic);
+            String result = Mnemonic.INSTANCE.encode(share);
+            assertEquals(mnemonic, result);
+        }
+    }
+    
+    @Test
+    public void testGetIndex() {
+        for (int i = 0; i < Mnemonic.WORD_COUNT; i++) {
+            String word = Words.INSTANCE.getWord(i);
+            assertEquals(i, Mnemonic.INSTANCE.getIndex(word, 0, word.length()));
+            assertEquals(i, Mnemonic.INSTANCE.getIndex(word.toUpperCase(), 0, word.length()));
+            String line = "  " + word + " ";
+            assertEquals(i, Mnemonic.INSTANCE.getIndex(line, 2, 2 + word.length()));
+        }
+        
+        assertEquals(-1, Mnemonic.INSTANCE.getIndex("", 0, 0));
+        assertEquals(-1, Mnemonic.INSTANCE.getIndex("aci", 0, 3));
+        assertEquals(-1, Mnemonic.INSTANCE.getIndex("acids", 0, 5));
+        assertEquals(-1, Mnemonic.INSTANCE.getIndex("academia", 0, 8));
+        assertEquals(-1, Mnemonic.INSTANCE.getIndex("zzzz", 0, 4));
+        assertEquals(-1, Mnemonic.INSTANCE.getIndex("ac1d", 0, 4));
+    }
+    
+    @Test(expected = SharedSecretException.class)
+    public void testInvalidWord() throws SharedSecretException {
+        Mnemonic.INSTANCE.indicesFromMnemonic("humidity disease academix");
+    }
+    
+    @Test
+    public void testTokenize() throws SharedSecretException {
+        String mnemonic = "eraser senior decision smug corner ruin rescue cubic angel tackle skin skunk program roster trash rumor slush angel flea amazing";
+        short[] expected = Mnemonic.INSTANCE.indicesFromMnemonic(mnemonic);
+        
+        short[] indices = new short[33];
+        int count = Mnemonic.INSTANCE.tokenize("  " + mnemonic.toUpperCase().replace(" ", " \t  ") + "\n", indices);
+        assertEquals(expected.length, count);
+        assertArrayEquals(expected, Arrays.copyOf(indices, count));
+        
+        // words beyond the capacity are counted only
+        indices = new short[4];
+        assertEquals(expected.length, Mnemonic.INSTANCE.tokenize(mnemonic, indices));
+        assertArrayEquals(Arrays.copyOf(expected, 4), indices);
+        
+        assertEquals(0, Mnemonic.INSTANCE.tokenize(" \t ", indices));
+        
+        Share share = Mnemonic.INSTANCE.decode(mnemonic.replace(" ", "   "));
+        assertEquals(mnemonic, Mnemonic.INSTANCE.encode(share));
+    }
+    
+    @Test
+    public void testGetIndexPrefix() throws SharedSecretException {
+        for (int i = 0; i < Mnemonic.WORD_COUNT; i++) {
+            String word = Words.INSTANCE.getWord(i);
+            for (int length = 4; length <= word.length(); length++) {
+                assertEquals(i, Mnemonic.INSTANCE.getIndex(word, 0, length));
+            }
+        }
+        assertEquals(0, Mnemonic.INSTANCE.getIndex("ACAD", 0, 4));
+        assertEquals(0, Mnemonic.INSTANCE.getIndex("academ", 0, 6));
+        assertEquals(-1, Mnemonic.INSTANCE.getIndex("academx", 0, 7));
+        assertEquals(-1, Mnemonic.INSTANCE.getIndex("academicx", 0, 9));
+        
+        String mnemonic = "eraser senior decision smug corner ruin rescue cubic angel tackle skin skunk program roster trash rumor slush angel flea amazing";
+        String prefixes = "eras seni deci smug corn ruin resc cubi ange tack skin skun prog rost tras rumo slus ange flea amaz";
+        assertArrayEquals(Mnemonic.INSTANCE.indicesFromMnemonic(mnemonic), Mnemonic.INSTANCE.indicesFromMnemonic(prefixes));
+        assertEquals(mnemonic, Mnemonic.INSTANCE.encode(Mnemonic.INSTANCE.decode(prefixes)));
+    }
+    
+    @Test
+    public void testCorrect() throws SharedSecretException {
+        String mnemonic = "eraser senior decision smug corner ruin rescue cubic angel tackle skin skunk program roster trash rumor slush angel flea amazing";
+        List<String> result = Mnemonic.INSTANCE.correct(mnemonic);
+        assertEquals(1, result.size());
+        assertEquals(mnemonic, result.get(0));
+        
+        result = Mnemonic.INSTANCE.correct(mnemonic.replace("cubic", "crazy"));
+        assertEquals(1, result.size());
+        assertEquals(mnemonic, result.get(0));
+        
+        result = Mnemonic.INSTANCE.correct(mnemonic.replace("eraser", "zero"));
+        assertEquals(1, result.size());
+        assertEquals(mnemonic, result.get(0));
+    }
+    
+    @Test
+    public void testComplete() throws SharedSecretException {
+        String mnemonic = "eraser senior decision smug corner ruin rescue cubic angel tackle skin skunk program roster trash rumor slush angel flea amazing";
+        List<String> result = Mnemonic.INSTANCE.complete(mnemonic.replace("decision", "?").replace("trash", "?"));
+        assertEquals(1, result.size());
+        assertEquals(mnemonic, result.get(0));
+        
+        result = Mnemonic.INSTANCE.complete(mnemonic.replace("eraser", "?"));
+        assertEquals(1, result.size());
+        assertEquals(mnemonic, result.get(0));
+    }
+    
+    @Test(expected = SharedSecretException.class)
+    public void testCompleteTooMany() throws SharedSecretException {
+        String mnemonic = "? ? ? smug corner ruin rescue cubic angel tackle skin skunk program roster trash rumor slush angel flea amazing";
+        Mnemonic.INSTANCE.complete(mnemonic);
+    }
+}